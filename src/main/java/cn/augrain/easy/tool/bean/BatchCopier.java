@@ -0,0 +1,104 @@
+package cn.augrain.easy.tool.bean;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 列表批量复制
+ * <p>
+ * 结果列表按源列表大小预先分配；源列表大小达到阈值时拆分到 {@link ForkJoinPool} 并行复制，
+ * 在ForkJoinPool的工作线程中调用时使用该池，否则使用公共池，结果顺序与源列表一致
+ *
+ * @author biaoy
+ * @since 2025/07/08
+ */
+final class BatchCopier {
+
+    /**
+     * 不并行
+     */
+    static final int NO_PARALLEL = Integer.MAX_VALUE;
+
+    /**
+     * 并行时每个任务最少处理的元素个数
+     */
+    private static final int MIN_CHUNK_SIZE = 1024;
+
+    private BatchCopier() {
+
+    }
+
+    /**
+     * 批量转换
+     *
+     * @param sourceList        源列表
+     * @param mapperFactory     转换函数工厂，每个工作线程单独获取一个，转换函数内部可以缓存状态
+     * @param parallelThreshold 并行阈值，源列表大小达到该值时并行转换
+     * @return 转换后的列表
+     */
+    static <S, T> List<T> mapList(List<? extends S> sourceList, Supplier<Function<S, T>> mapperFactory,
+                                  int parallelThreshold) {
+        int size = sourceList.size();
+        ForkJoinPool pool = ForkJoinTask.inForkJoinPool() ? ForkJoinTask.getPool() : ForkJoinPool.commonPool();
+        if (size < parallelThreshold || pool.getParallelism() <= 1) {
+            Function<S, T> mapper = mapperFactory.get();
+            List<T> destinationList = new ArrayList<>(size);
+            for (S source : sourceList) {
+                destinationList.add(mapper.apply(source));
+            }
+            return destinationList;
+        }
+
+        Object[] sources = sourceList.toArray();
+        Object[] targets = new Object[size];
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, size / (pool.getParallelism() * 4));
+        pool.invoke(new MapTask<>(sources, targets, 0, size, chunkSize, mapperFactory));
+
+        @SuppressWarnings("unchecked")
+        List<T> destinationList = (List<T>) new ArrayList<>(Arrays.asList(targets));
+        return destinationList;
+    }
+
+    /**
+     * 按区间二分拆分的转换任务
+     */
+    private static final class MapTask<S, T> extends RecursiveAction {
+        private final Object[] sources;
+        private final Object[] targets;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+        private final Supplier<Function<S, T>> mapperFactory;
+
+        MapTask(Object[] sources, Object[] targets, int from, int to, int chunkSize,
+                Supplier<Function<S, T>> mapperFactory) {
+            this.sources = sources;
+            this.targets = targets;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.mapperFactory = mapperFactory;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                Function<S, T> mapper = mapperFactory.get();
+                for (int i = from; i < to; i++) {
+                    targets[i] = mapper.apply((S) sources[i]);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new MapTask<>(sources, targets, from, mid, chunkSize, mapperFactory),
+                    new MapTask<>(sources, targets, mid, to, chunkSize, mapperFactory));
+        }
+    }
+}
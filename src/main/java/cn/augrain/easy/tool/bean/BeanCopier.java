@@ -0,0 +1,229 @@
+package cn.augrain.easy.tool.bean;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * 预编译的属性复制器
+ * <p>
+ * 针对 (源类型, 目标类型, ignoreNull, 忽略属性) 一次性完成属性匹配和类型兼容性判断，
+ * 并将getter/setter编译为lambda；复制时只是遍历一个数组，不再有反射调用。
+ * 两端同为 int/long/double 的属性全程不装箱
+ * <pre>
+ * private static final BeanCopier COPIER = BeanCopier.create(UserDTO.class, User.class, true);
+ *
+ * COPIER.copy(dto, user);
+ * </pre>
+ * 实例不可变，可在多线程间共享
+ *
+ * @author biaoy
+ * @since 2025/07/05
+ */
+@Slf4j
+public final class BeanCopier {
+
+    private final Class<?> sourceClass;
+
+    private final Class<?> targetClass;
+
+    private final PropertyCopier[] copiers;
+
+    private BeanCopier(Class<?> sourceClass, Class<?> targetClass, PropertyCopier[] copiers) {
+        this.sourceClass = sourceClass;
+        this.targetClass = targetClass;
+        this.copiers = copiers;
+    }
+
+    /**
+     * 创建复制器
+     *
+     * @param sourceClass      源类型
+     * @param targetClass      目标类型
+     * @param ignoreNull       是否忽略null值
+     * @param ignoreProperties 忽略的属性名
+     * @return 复制器
+     */
+    public static BeanCopier create(Class<?> sourceClass, Class<?> targetClass, boolean ignoreNull,
+                                    String... ignoreProperties) {
+        Set<String> ignoreSet = new HashSet<>(Arrays.asList(ignoreProperties));
+        Map<String, PropertyDescriptor> targetDescriptors = ClassMetadata.of(targetClass).getPropertyDescriptors();
+
+        List<PropertyCopier> copiers = new ArrayList<>();
+        for (PropertyDescriptor sourcePd : ClassMetadata.of(sourceClass).getPropertyDescriptors().values()) {
+            String propertyName = sourcePd.getName();
+            if (ignoreSet.contains(propertyName)) {
+                continue;
+            }
+            PropertyDescriptor targetPd = targetDescriptors.get(propertyName);
+            if (targetPd == null) {
+                continue;
+            }
+            PropertyCopier copier = compile(sourcePd, targetPd, ignoreNull);
+            if (copier != null) {
+                copiers.add(copier);
+            }
+        }
+        return new BeanCopier(sourceClass, targetClass, copiers.toArray(new PropertyCopier[0]));
+    }
+
+    /**
+     * 复制属性
+     *
+     * @param source 源对象，类型需为创建时指定的源类型或其子类
+     * @param target 目标对象，类型需为创建时指定的目标类型或其子类
+     */
+    public void copy(Object source, Object target) {
+        if (source == null || target == null) {
+            return;
+        }
+        for (PropertyCopier copier : copiers) {
+            try {
+                copier.copy(source, target);
+            } catch (RuntimeException e) {
+                log.error("copy property {} happen exception ", copier.name, e);
+            }
+        }
+    }
+
+    public Class<?> getSourceClass() {
+        return sourceClass;
+    }
+
+    public Class<?> getTargetClass() {
+        return targetClass;
+    }
+
+    /**
+     * 参与复制的属性个数
+     */
+    public int size() {
+        return copiers.length;
+    }
+
+    /**
+     * 匹配属性并判断类型兼容性，不可复制时返回null
+     */
+    private static PropertyCopier compile(PropertyDescriptor sourcePd, PropertyDescriptor targetPd, boolean ignoreNull) {
+        Method readMethod = sourcePd.getReadMethod();
+        Method writeMethod = targetPd.getWriteMethod();
+        if (readMethod == null || writeMethod == null) {
+            return null;
+        }
+        String name = sourcePd.getName();
+        Class<?> sourceType = readMethod.getReturnType();
+        Class<?> targetType = writeMethod.getParameterTypes()[0];
+
+        if (sourceType == targetType) {
+            if (sourceType == int.class) {
+                return new IntCopier(name, PropertyAccessors.intGetter(readMethod), PropertyAccessors.intSetter(writeMethod));
+            }
+            if (sourceType == long.class) {
+                return new LongCopier(name, PropertyAccessors.longGetter(readMethod), PropertyAccessors.longSetter(writeMethod));
+            }
+            if (sourceType == double.class) {
+                return new DoubleCopier(name, PropertyAccessors.doubleGetter(readMethod), PropertyAccessors.doubleSetter(writeMethod));
+            }
+        }
+        if (!isCompatibleType(sourceType, targetType)) {
+            return null;
+        }
+        return new ObjectCopier(name, PropertyAccessors.getter(readMethod), PropertyAccessors.setter(writeMethod),
+                ignoreNull, targetType.isPrimitive());
+    }
+
+    /**
+     * 检查类型兼容性，基本类型与包装类型兼容
+     */
+    static boolean isCompatibleType(Class<?> sourceType, Class<?> targetType) {
+        return PropertyAccessors.wrap(targetType).isAssignableFrom(PropertyAccessors.wrap(sourceType));
+    }
+
+    /**
+     * 单个属性的复制动作
+     */
+    private abstract static class PropertyCopier {
+        final String name;
+
+        PropertyCopier(String name) {
+            this.name = name;
+        }
+
+        abstract void copy(Object source, Object target);
+    }
+
+    private static final class ObjectCopier extends PropertyCopier {
+        private final Function<Object, Object> getter;
+        private final BiConsumer<Object, Object> setter;
+        private final boolean skipNull;
+
+        ObjectCopier(String name, Function<Object, Object> getter, BiConsumer<Object, Object> setter,
+                     boolean ignoreNull, boolean targetPrimitive) {
+            super(name);
+            this.getter = getter;
+            this.setter = setter;
+            // null无法写入基本类型，始终跳过
+            this.skipNull = ignoreNull || targetPrimitive;
+        }
+
+        @Override
+        void copy(Object source, Object target) {
+            Object value = getter.apply(source);
+            if (value == null && skipNull) {
+                return;
+            }
+            setter.accept(target, value);
+        }
+    }
+
+    private static final class IntCopier extends PropertyCopier {
+        private final ToIntFunction<Object> getter;
+        private final ObjIntConsumer<Object> setter;
+
+        IntCopier(String name, ToIntFunction<Object> getter, ObjIntConsumer<Object> setter) {
+            super(name);
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        void copy(Object source, Object target) {
+            setter.accept(target, getter.applyAsInt(source));
+        }
+    }
+
+    private static final class LongCopier extends PropertyCopier {
+        private final ToLongFunction<Object> getter;
+        private final ObjLongConsumer<Object> setter;
+
+        LongCopier(String name, ToLongFunction<Object> getter, ObjLongConsumer<Object> setter) {
+            super(name);
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        void copy(Object source, Object target) {
+            setter.accept(target, getter.applyAsLong(source));
+        }
+    }
+
+    private static final class DoubleCopier extends PropertyCopier {
+        private final ToDoubleFunction<Object> getter;
+        private final ObjDoubleConsumer<Object> setter;
+
+        DoubleCopier(String name, ToDoubleFunction<Object> getter, ObjDoubleConsumer<Object> setter) {
+            super(name);
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        void copy(Object source, Object target) {
+            setter.accept(target, getter.applyAsDouble(source));
+        }
+    }
+}
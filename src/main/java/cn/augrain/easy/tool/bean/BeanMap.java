@@ -0,0 +1,135 @@
+package cn.augrain.easy.tool.bean;
+
+import java.util.*;
+
+/**
+ * bean的只读map视图
+ * <p>
+ * 不复制属性值，每次 {@link #get(Object)} 或读取entry值时才调用编译好的getter，
+ * 因此总是反映bean的当前状态
+ *
+ * @author biaoy
+ * @since 2025/07/13
+ */
+final class BeanMap extends AbstractMap<String, Object> {
+
+    private final Object bean;
+
+    private final Map<String, BeanProperty> properties;
+
+    private final BeanProperty[] readableProperties;
+
+    private Set<Entry<String, Object>> entrySet;
+
+    BeanMap(Object bean) {
+        ClassMetadata metadata = ClassMetadata.of(bean.getClass());
+        this.bean = bean;
+        this.properties = metadata.getBeanProperties();
+        this.readableProperties = metadata.getReadableProperties();
+    }
+
+    @Override
+    public Object get(Object key) {
+        BeanProperty property = properties.get(key);
+        return property == null || !property.isReadable() ? null : property.get(bean);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        BeanProperty property = properties.get(key);
+        return property != null && property.isReadable();
+    }
+
+    @Override
+    public int size() {
+        return readableProperties.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return readableProperties.length == 0;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        Set<Entry<String, Object>> entries = entrySet;
+        if (entries == null) {
+            entries = new EntrySet();
+            entrySet = entries;
+        }
+        return entries;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, Object>> {
+
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+            return new Iterator<Entry<String, Object>>() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < readableProperties.length;
+                }
+
+                @Override
+                public Entry<String, Object> next() {
+                    if (index >= readableProperties.length) {
+                        throw new NoSuchElementException();
+                    }
+                    return new PropertyEntry(readableProperties[index++]);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return readableProperties.length;
+        }
+    }
+
+    /**
+     * 延迟取值的entry
+     */
+    private final class PropertyEntry implements Entry<String, Object> {
+        private final BeanProperty property;
+
+        PropertyEntry(BeanProperty property) {
+            this.property = property;
+        }
+
+        @Override
+        public String getKey() {
+            return property.getName();
+        }
+
+        @Override
+        public Object getValue() {
+            return property.get(bean);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> e = (Entry<?, ?>) o;
+            return getKey().equals(e.getKey()) && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return getKey().hashCode() ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
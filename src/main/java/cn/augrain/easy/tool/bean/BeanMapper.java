@@ -1,32 +1,66 @@
 package cn.augrain.easy.tool.bean;
 
 import cn.augrain.easy.tool.core.ObjectUtils;
+import cn.augrain.easy.tool.util.AssertUtils;
+import lombok.extern.slf4j.Slf4j;
+import ma.glasnost.orika.BoundMapperFacade;
 import ma.glasnost.orika.MapperFacade;
 import ma.glasnost.orika.MapperFactory;
 import ma.glasnost.orika.impl.DefaultMapperFactory;
+import ma.glasnost.orika.metadata.MapperKey;
 import ma.glasnost.orika.metadata.Type;
 import ma.glasnost.orika.metadata.TypeFactory;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * 对 {@link MapperFacade} 的简单封装
+ * <p>
+ * 按Class映射时，如果存在完整覆盖该对类型的编译期生成的 {@link GeneratedMapper}（见 {@link GenerateMapper}）
+ * 则直接使用，否则使用orika，包括需要类型转换或深拷贝的情况。orika在第一次用到时才初始化
  *
  * @author biaoy
  * @since 2025/06/07
  */
+@Slf4j
 public class BeanMapper {
 
-    private static final MapperFacade mapper;
+    // 缓存orika的Type
+    private static final ClassValue<Type<?>> TYPES = new ClassValue<Type<?>>() {
+        @Override
+        protected Type<?> computeValue(Class<?> type) {
+            return TypeFactory.valueOf(type);
+        }
+    };
 
-    static {
-        MapperFactory mapperFactory = new DefaultMapperFactory
+    /**
+     * 延迟初始化orika，只使用生成的映射器时不会加载
+     */
+    private static final class Orika {
+        private static final MapperFactory mapperFactory = new DefaultMapperFactory
                 .Builder()
                 .mapNulls(false)
                 .build();
-        mapper = mapperFactory.getMapperFacade();
+
+        private static final MapperFacade mapper = mapperFactory.getMapperFacade();
+
+        @SuppressWarnings("unchecked")
+        private static final ClassPairCache<BoundMapperFacade<Object, Object>> boundMappers = new ClassPairCache<>(
+                (s, d) -> mapperFactory.getMapperFacade((Class<Object>) s, (Class<Object>) d));
+
+        /**
+         * 生成并注册映射器
+         */
+        static void build(Class<?> sourceClass, Class<?> destinationClass) {
+            mapperFactory.lookupMapper(new MapperKey(getType(sourceClass), getType(destinationClass)));
+            boundMappers.get(sourceClass, destinationClass);
+        }
     }
 
     /**
@@ -35,7 +69,17 @@ public class BeanMapper {
      * 通过source.getClass() 获得源Class
      */
     public static <S, D> D map(S source, Class<D> destinationClass) {
-        return mapper.map(source, destinationClass);
+        if (source == null) {
+            return null;
+        }
+        MappingInstrumentation.Sample sample = MappingInstrumentation.start();
+        GeneratedMapper<S, D> generatedMapper = GeneratedMappers.get(source.getClass(), destinationClass);
+        D destination = generatedMapper != null
+                ? generatedMapper.map(source) : Orika.mapper.map(source, destinationClass);
+        if (sample != null) {
+            sample.stop("BeanMapper.map", source.getClass(), destinationClass);
+        }
+        return destination;
     }
 
     /**
@@ -43,8 +87,21 @@ public class BeanMapper {
      * <p>
      * 通过source.getClass() 获得源Class
      */
+    @SuppressWarnings("unchecked")
     public static <S, D> void map(S source, D d) {
-        mapper.map(source, d);
+        if (source == null || d == null) {
+            return;
+        }
+        MappingInstrumentation.Sample sample = MappingInstrumentation.start();
+        GeneratedMapper<S, D> generatedMapper = GeneratedMappers.get(source.getClass(), (Class<D>) d.getClass());
+        if (generatedMapper != null) {
+            generatedMapper.map(source, d);
+        } else {
+            Orika.mapper.map(source, d);
+        }
+        if (sample != null) {
+            sample.stop("BeanMapper.map", source.getClass(), d.getClass());
+        }
     }
 
     /**
@@ -52,7 +109,16 @@ public class BeanMapper {
      * 指定待复制的class
      */
     public static <S, D> void map(S source, D d, Class<S> sClass, Class<D> dClass) {
-        mapper.map(source, d, TypeFactory.valueOf(sClass), TypeFactory.valueOf(dClass));
+        MappingInstrumentation.Sample sample = MappingInstrumentation.start();
+        GeneratedMapper<S, D> generatedMapper = GeneratedMappers.get(sClass, dClass);
+        if (generatedMapper != null) {
+            generatedMapper.map(source, d);
+        } else {
+            Orika.mapper.map(source, d, getType(sClass), getType(dClass));
+        }
+        if (sample != null) {
+            sample.stop("BeanMapper.map", sClass, dClass);
+        }
     }
 
     /**
@@ -61,14 +127,24 @@ public class BeanMapper {
      * 预先通过BeanMapper.getType() 静态获取并缓存Type类型，在此处传入
      */
     public static <S, D> D map(S source, Type<S> sourceType, Type<D> destinationType) {
-        return mapper.map(source, sourceType, destinationType);
+        MappingInstrumentation.Sample sample = MappingInstrumentation.start();
+        D destination = Orika.mapper.map(source, sourceType, destinationType);
+        if (sample != null) {
+            sample.stop("BeanMapper.map", sourceType.getRawType(), destinationType.getRawType());
+        }
+        return destination;
     }
 
     /**
      * 对象复制
      */
     public static <S, T> T map(S source, Class<T> destinationClass, BeanMappingHandler<S, T> handler) {
-        return handler.map(source, destinationClass);
+        MappingInstrumentation.Sample sample = MappingInstrumentation.start();
+        T destination = handler.map(source, destinationClass);
+        if (sample != null) {
+            sample.stop("BeanMappingHandler.map", source == null ? null : source.getClass(), destinationClass);
+        }
+        return destination;
     }
 
     /**
@@ -77,7 +153,22 @@ public class BeanMapper {
      * 不建议使用mapper.mapAsList(Iterable<S>,Class<D>)接口, sourceClass需要反射，实在有点慢
      */
     public static <S, D> List<D> mapList(Iterable<S> sourceList, Class<S> sourceClass, Class<D> destinationClass) {
-        return mapper.mapAsList(sourceList, TypeFactory.valueOf(sourceClass), TypeFactory.valueOf(destinationClass));
+        MappingInstrumentation.Sample sample = MappingInstrumentation.start();
+        GeneratedMapper<S, D> generatedMapper = GeneratedMappers.get(sourceClass, destinationClass);
+        List<D> destinationList;
+        if (generatedMapper != null) {
+            destinationList = sourceList instanceof Collection
+                    ? new ArrayList<>(((Collection<?>) sourceList).size()) : new ArrayList<>();
+            for (S source : sourceList) {
+                destinationList.add(generatedMapper.map(source));
+            }
+        } else {
+            destinationList = Orika.mapper.mapAsList(sourceList, getType(sourceClass), getType(destinationClass));
+        }
+        if (sample != null) {
+            sample.stop("BeanMapper.mapList", sourceClass, destinationClass);
+        }
+        return destinationList;
     }
 
     /**
@@ -86,20 +177,61 @@ public class BeanMapper {
      * 预先通过BeanMapper.getType() 静态获取并缓存Type类型，在此处传入
      */
     public static <S, D> List<D> mapList(Iterable<S> sourceList, Type<S> sourceType, Type<D> destinationType) {
-        return mapper.mapAsList(sourceList, sourceType, destinationType);
+        MappingInstrumentation.Sample sample = MappingInstrumentation.start();
+        List<D> destinationList = Orika.mapper.mapAsList(sourceList, sourceType, destinationType);
+        if (sample != null) {
+            sample.stop("BeanMapper.mapList", sourceType.getRawType(), destinationType.getRawType());
+        }
+        return destinationList;
     }
 
     /**
      * 简单的复制出新对象列表到ArrayList
+     * <p>
+     * 映射器只在元素类型变化时重新获取
      */
     public static <T> List<T> mapList(List sourceList, Class<T> destinationClass) {
+        return mapList(sourceList, destinationClass, BatchCopier.NO_PARALLEL);
+    }
+
+    /**
+     * 复制出新对象列表到ArrayList，源列表大小达到阈值时使用ForkJoinPool并行复制
+     *
+     * @param sourceList        源列表
+     * @param destinationClass  目标类型
+     * @param parallelThreshold 并行阈值
+     * @return 复制后的列表，顺序与源列表一致
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> mapList(List<?> sourceList, Class<T> destinationClass, int parallelThreshold) {
         if (ObjectUtils.isEmpty(sourceList)) {
             return Collections.emptyList();
         }
-        List<T> destinationList = new ArrayList<>();
-        for (Object sourceObject : sourceList) {
-            T destinationObject = mapper.map(sourceObject, destinationClass);
-            destinationList.add(destinationObject);
+        MappingInstrumentation.Sample sample = MappingInstrumentation.start();
+        List<T> destinationList = BatchCopier.mapList(sourceList, () -> new Function<Object, T>() {
+            private Class<?> sourceClass;
+            private Function<Object, T> elementMapper;
+
+            @Override
+            public T apply(Object source) {
+                if (source == null) {
+                    return null;
+                }
+                if (source.getClass() != sourceClass) {
+                    sourceClass = source.getClass();
+                    GeneratedMapper<Object, T> generatedMapper = GeneratedMappers.get(sourceClass, destinationClass);
+                    if (generatedMapper != null) {
+                        elementMapper = generatedMapper::map;
+                    } else {
+                        BoundMapperFacade<Object, Object> boundMapper = Orika.boundMappers.get(sourceClass, destinationClass);
+                        elementMapper = element -> (T) boundMapper.map(element);
+                    }
+                }
+                return elementMapper.apply(source);
+            }
+        }, parallelThreshold);
+        if (sample != null) {
+            sample.stop("BeanMapper.mapList", MappingInstrumentation.elementClass(sourceList), destinationClass);
         }
         return destinationList;
     }
@@ -111,22 +243,23 @@ public class BeanMapper {
         if (ObjectUtils.isEmpty(sourceList)) {
             return Collections.emptyList();
         }
-        List<T> destinationList = new ArrayList<>();
-        for (S sourceObject : sourceList) {
-            T destinationObject = handler.map(sourceObject, destinationClass);
-            destinationList.add(destinationObject);
+        MappingInstrumentation.Sample sample = MappingInstrumentation.start();
+        List<T> destinationList = BatchCopier.mapList(sourceList,
+                () -> source -> handler.map(source, destinationClass), BatchCopier.NO_PARALLEL);
+        if (sample != null) {
+            sample.stop("BeanMappingHandler.mapList", MappingInstrumentation.elementClass(sourceList),
+                    destinationClass);
         }
         return destinationList;
     }
 
-
     /**
      * 简单复制出新对象列表到数组
      * <p>
      * 通过source.getComponentType() 获得源Class
      */
     public static <S, D> D[] mapArray(final D[] destination, final S[] source, final Class<D> destinationClass) {
-        return mapper.mapAsArray(destination, source, destinationClass);
+        return Orika.mapper.mapAsArray(destination, source, destinationClass);
     }
 
     /**
@@ -135,14 +268,65 @@ public class BeanMapper {
      * 预先通过BeanMapper.getType() 静态获取并缓存Type类型，在此处传入
      */
     public static <S, D> D[] mapArray(D[] destination, S[] source, Type<S> sourceType, Type<D> destinationType) {
-        return mapper.mapAsArray(destination, source, sourceType, destinationType);
+        return Orika.mapper.mapAsArray(destination, source, sourceType, destinationType);
     }
 
     /**
      * 预先获取orika转换所需要的Type，避免每次转换.
+     * <p>
+     * 结果按Class缓存
      */
+    @SuppressWarnings("unchecked")
     public static <E> Type<E> getType(final Class<E> rawType) {
-        return TypeFactory.valueOf(rawType);
+        return (Type<E>) TYPES.get(rawType);
+    }
+
+    /**
+     * 预加载映射器，建议在应用启动时调用，避免首次映射时在请求线程上生成orika映射类
+     * <p>
+     * 各组类型并行构建，并记录每组耗时
+     *
+     * @param pairs 成对出现的类型：源类型1, 目标类型1, 源类型2, 目标类型2...
+     * @return 每组类型的预加载结果，顺序与传入顺序一致
+     */
+    public static List<PreloadResult> preload(Class<?>... pairs) {
+        AssertUtils.assertTrue(pairs.length % 2 == 0, "类型需要成对传入");
+        List<PreloadResult> results = IntStream.range(0, pairs.length / 2)
+                .parallel()
+                .mapToObj(i -> preload(pairs[i * 2], pairs[i * 2 + 1]))
+                .collect(Collectors.toList());
+        results.forEach(result -> log.info("preload mapper {}", result));
+        return results;
+    }
+
+    /**
+     * 预加载classpath中所有编译期生成的映射器
+     * <p>
+     * 每个映射器的耗时为其类的加载和实例化时间，单独计时。映射器已经加载过时返回当时的结果
+     *
+     * @return 每个映射器的加载结果
+     */
+    public static List<PreloadResult> preloadGenerated() {
+        List<PreloadResult> results = GeneratedMappers.loadResults();
+        results.forEach(result -> log.info("preload generated mapper {}", result));
+        return results;
+    }
+
+    private static PreloadResult preload(Class<?> sourceClass, Class<?> destinationClass) {
+        long start = System.nanoTime();
+        if (GeneratedMappers.get(sourceClass, destinationClass) != null) {
+            return new PreloadResult(sourceClass, destinationClass, PreloadResult.BACKEND_GENERATED,
+                    System.nanoTime() - start, null);
+        }
+        Throwable error = null;
+        try {
+            Orika.build(sourceClass, destinationClass);
+        } catch (RuntimeException | LinkageError e) {
+            error = e;
+            log.error("preload mapper {} -> {} error ", sourceClass.getName(), destinationClass.getName(), e);
+        }
+        return new PreloadResult(sourceClass, destinationClass, PreloadResult.BACKEND_ORIKA,
+                System.nanoTime() - start, error);
     }
 
 }
@@ -0,0 +1,70 @@
+package cn.augrain.easy.tool.bean;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 编译好访问器的bean属性
+ *
+ * @author biaoy
+ * @since 2025/07/12
+ */
+final class BeanProperty {
+
+    private final String name;
+
+    private final Class<?> type;
+
+    private final Function<Object, Object> getter;
+
+    private final BiConsumer<Object, Object> setter;
+
+    private BeanProperty(String name, Class<?> type, Function<Object, Object> getter, BiConsumer<Object, Object> setter) {
+        this.name = name;
+        this.type = type;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    static BeanProperty of(PropertyDescriptor pd) {
+        Method readMethod = pd.getReadMethod();
+        Method writeMethod = pd.getWriteMethod();
+        return new BeanProperty(pd.getName(), pd.getPropertyType(),
+                readMethod == null ? null : PropertyAccessors.getter(readMethod),
+                writeMethod == null ? null : PropertyAccessors.setter(writeMethod));
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Class<?> getType() {
+        return type;
+    }
+
+    boolean isReadable() {
+        return getter != null;
+    }
+
+    boolean isWritable() {
+        return setter != null;
+    }
+
+    Function<Object, Object> getter() {
+        return getter;
+    }
+
+    BiConsumer<Object, Object> setter() {
+        return setter;
+    }
+
+    Object get(Object bean) {
+        return getter.apply(bean);
+    }
+
+    void set(Object bean, Object value) {
+        setter.accept(bean, value);
+    }
+}
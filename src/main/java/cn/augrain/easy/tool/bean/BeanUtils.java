@@ -1,17 +1,12 @@
 package cn.augrain.easy.tool.bean;
 
 import cn.augrain.easy.tool.collection.MapUtils;
+import cn.augrain.easy.tool.convert.TypeConverter;
 import cn.augrain.easy.tool.core.ObjectUtils;
-import lombok.extern.slf4j.Slf4j;
-
-import java.beans.BeanInfo;
-import java.beans.IntrospectionException;
-import java.beans.Introspector;
-import java.beans.PropertyDescriptor;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * BeanUtils
@@ -19,18 +14,15 @@ import java.util.concurrent.ConcurrentHashMap;
  * @author biaoy
  * @since 2025/05/24
  */
-@Slf4j
 public class BeanUtils {
-    // 缓存BeanInfo信息
-    private static final Map<Class<?>, Map<String, PropertyDescriptor>> BEAN_INFO_CACHE =
-            new ConcurrentHashMap<>();
-
     private BeanUtils() {
 
     }
 
     /**
      * 将bean转换为map
+     * <p>
+     * 使用缓存并编译好的getter，结果map按属性个数预先分配容量；getter抛出的异常直接向上抛出
      *
      * @param obj 待转换的bean对象
      * @return map
@@ -39,23 +31,67 @@ public class BeanUtils {
         if (obj == null) {
             return MapUtils.empty();
         }
-        Map<String, Object> map = new HashMap<>();
-        try {
-            BeanInfo beanInfo = Introspector.getBeanInfo(obj.getClass());
-            PropertyDescriptor[] propertyDescriptors = beanInfo.getPropertyDescriptors();
-            for (PropertyDescriptor property : propertyDescriptors) {
-                String key = property.getName();
-                if (!key.equals("class")) {
-                    Method getter = property.getReadMethod();
-
-                    Object value = getter.invoke(obj);
-                    map.put(key, value);
+        BeanProperty[] properties = ClassMetadata.of(obj.getClass()).getReadableProperties();
+        Map<String, Object> map = new HashMap<>(capacity(properties.length));
+        for (BeanProperty property : properties) {
+            map.put(property.getName(), property.get(obj));
+        }
+        return map;
+    }
+
+    /**
+     * 返回bean的只读map视图
+     * <p>
+     * 不预先读取属性，只在访问某个key时调用对应getter，适合只读取少数几个属性的场景；
+     * 视图总是反映bean的当前值
+     *
+     * @param obj bean对象
+     * @return map视图，obj为null时返回空map
+     */
+    public static Map<String, Object> asMap(Object obj) {
+        if (obj == null) {
+            return Collections.emptyMap();
+        }
+        return new BeanMap(obj);
+    }
+
+    /**
+     * 将map转换为bean，与 {@link #toMap(Object)} 互逆
+     * <p>
+     * 只处理目标类型中可写的属性，值类型不匹配时使用 {@link TypeConverter} 转换
+     *
+     * @param map   属性名到属性值的映射
+     * @param clazz 目标类型
+     * @return bean，map为null时返回null
+     */
+    public static <T> T fromMap(Map<String, ?> map, Class<T> clazz) {
+        if (map == null) {
+            return null;
+        }
+        T bean = ClassMetadata.of(clazz).<T>getInstantiator().get();
+        Map<String, BeanProperty> properties = ClassMetadata.of(clazz).getBeanProperties();
+        for (Map.Entry<String, ?> entry : map.entrySet()) {
+            BeanProperty property = properties.get(entry.getKey());
+            if (property == null || !property.isWritable()) {
+                continue;
+            }
+            Object value = entry.getValue();
+            if (value == null) {
+                if (!property.getType().isPrimitive()) {
+                    property.set(bean, null);
                 }
+                continue;
             }
-        } catch (Exception e) {
-            log.error("transform bean to map error ", e);
+            property.set(bean, TypeConverter.convert(value, property.getType()));
         }
-        return map;
+        return bean;
+    }
+
+    /**
+     * 根据元素个数计算HashMap初始容量，避免扩容
+     */
+    private static int capacity(int size) {
+        return size < 3 ? size + 1 : (int) (size / 0.75f + 1.0f);
     }
 
     /**
@@ -64,24 +100,71 @@ public class BeanUtils {
      * 通过source.getClass() 获得源Class
      */
     public static <S, D> D copy(S source, Class<D> destinationClass) {
-        D target = ClassUtils.newInstance(destinationClass);
-        copyProperties(source, target, true);
+        MappingInstrumentation.Sample sample = MappingInstrumentation.start();
+        D target = ClassMetadata.of(destinationClass).<D>getInstantiator().get();
+        doCopyProperties(source, target, true);
+        if (sample != null) {
+            sample.stop("BeanUtils.copy", source == null ? null : source.getClass(), destinationClass);
+        }
         return target;
     }
 
+    /**
+     * 深拷贝对象，支持嵌套bean、集合、map、数组及循环引用
+     *
+     * @param source 源对象
+     * @return 拷贝后的对象
+     * @see DeepCloner
+     */
+    public static <T> T deepCopy(T source) {
+        return DeepCloner.clone(source);
+    }
+
     /**
      * 简单的复制出新对象列表到ArrayList
+     * <p>
+     * 复制计划只在元素类型变化时重新获取
      */
     public static <T> List<T> copyList(List<?> sourceList, Class<T> destinationClass) {
+        return copyList(sourceList, destinationClass, BatchCopier.NO_PARALLEL);
+    }
+
+    /**
+     * 复制出新对象列表到ArrayList，源列表大小达到阈值时使用ForkJoinPool并行复制
+     *
+     * @param sourceList        源列表
+     * @param destinationClass  目标类型
+     * @param parallelThreshold 并行阈值
+     * @return 复制后的列表，顺序与源列表一致
+     */
+    public static <T> List<T> copyList(List<?> sourceList, Class<T> destinationClass, int parallelThreshold) {
         if (ObjectUtils.isEmpty(sourceList)) {
             return Collections.emptyList();
         }
-        List<T> destinationList = new ArrayList<>();
-        for (Object sourceObject : sourceList) {
-            T destinationObject = copy(sourceObject, destinationClass);
-            destinationList.add(destinationObject);
+        MappingInstrumentation.Sample sample = MappingInstrumentation.start();
+        Supplier<T> instantiator = ClassMetadata.of(destinationClass).getInstantiator();
+        List<T> targetList = BatchCopier.mapList(sourceList, () -> new Function<Object, T>() {
+            private Class<?> sourceClass;
+            private BeanCopier copier;
+
+            @Override
+            public T apply(Object source) {
+                T target = instantiator.get();
+                if (source == null) {
+                    return target;
+                }
+                if (source.getClass() != sourceClass) {
+                    sourceClass = source.getClass();
+                    copier = CopyPlanCache.get(sourceClass, destinationClass, true);
+                }
+                copier.copy(source, target);
+                return target;
+            }
+        }, parallelThreshold);
+        if (sample != null) {
+            sample.stop("BeanUtils.copyList", MappingInstrumentation.elementClass(sourceList), destinationClass);
         }
-        return destinationList;
+        return targetList;
     }
 
     /**
@@ -96,105 +179,33 @@ public class BeanUtils {
         if (source == null || target == null) {
             return;
         }
-
-        Set<String> ignoreSet = new HashSet<>(Arrays.asList(ignoreProperties));
-
-        try {
-            Map<String, PropertyDescriptor> sourceDescriptors = getCachedPropertyDescriptors(source.getClass());
-            Map<String, PropertyDescriptor> targetDescriptors = getCachedPropertyDescriptors(target.getClass());
-
-            for (PropertyDescriptor sourcePd : sourceDescriptors.values()) {
-                String propertyName = sourcePd.getName();
-
-                // 检查是否忽略该属性
-                if (ignoreSet.contains(propertyName)) {
-                    continue;
-                }
-
-                PropertyDescriptor targetPd = targetDescriptors.get(propertyName);
-                if (targetPd != null) {
-                    copyProperty(source, target, ignoreNull, sourcePd, targetPd);
-                }
-            }
-        } catch (IntrospectionException e) {
-            throw new RuntimeException("Failed to copy properties", e);
-        }
-    }
-
-    /**
-     * 复制单个属性
-     */
-    private static void copyProperty(Object source, Object target, Boolean ignoreNull,
-                                     PropertyDescriptor sourcePd, PropertyDescriptor targetPd) {
-        Method readMethod = sourcePd.getReadMethod();
-        Method writeMethod = targetPd.getWriteMethod();
-
-        if (readMethod != null && writeMethod != null) {
-            try {
-                // 检查类型兼容性
-                if (isCompatibleType(sourcePd.getPropertyType(), targetPd.getPropertyType())) {
-                    Object value = readMethod.invoke(source);
-                    if (ignoreNull && value != null) {
-                        writeMethod.invoke(target, value);
-                    } else {
-                        writeMethod.invoke(target, value);
-                    }
-                }
-            } catch (IllegalAccessException | InvocationTargetException e) {
-                log.error("happen exception ", e);
-            }
+        MappingInstrumentation.Sample sample = MappingInstrumentation.start();
+        doCopyProperties(source, target, Boolean.TRUE.equals(ignoreNull), ignoreProperties);
+        if (sample != null) {
+            sample.stop("BeanUtils.copyProperties", source.getClass(), target.getClass());
         }
     }
 
-    /**
-     * 检查类型兼容性
-     */
-    private static boolean isCompatibleType(Class<?> sourceType, Class<?> targetType) {
-        // 基本类型与包装类型兼容
-        if (sourceType.isPrimitive()) {
-            sourceType = wrapPrimitiveType(sourceType);
-        }
-        if (targetType.isPrimitive()) {
-            targetType = wrapPrimitiveType(targetType);
+    private static void doCopyProperties(Object source, Object target, boolean ignoreNull, String... ignoreProperties) {
+        if (source == null || target == null) {
+            return;
         }
-        return targetType.isAssignableFrom(sourceType);
+        CopyPlanCache.get(source.getClass(), target.getClass(), ignoreNull, ignoreProperties).copy(source, target);
     }
 
     /**
-     * 基本类型转包装类型
+     * 获取复制计划缓存的统计信息，可用于观察命中率
+     *
+     * @return 统计快照
      */
-    private static Class<?> wrapPrimitiveType(Class<?> type) {
-        if (type == int.class) return Integer.class;
-        if (type == long.class) return Long.class;
-        if (type == double.class) return Double.class;
-        if (type == float.class) return Float.class;
-        if (type == boolean.class) return Boolean.class;
-        if (type == char.class) return Character.class;
-        if (type == byte.class) return Byte.class;
-        if (type == short.class) return Short.class;
-        return type;
+    public static CopyPlanStats getCopyPlanStats() {
+        return CopyPlanCache.stats();
     }
 
     /**
-     * 获取缓存的属性描述符
+     * 清空复制计划缓存及统计
      */
-    private static Map<String, PropertyDescriptor> getCachedPropertyDescriptors(Class<?> clazz)
-            throws IntrospectionException {
-        return BEAN_INFO_CACHE.computeIfAbsent(clazz, k -> {
-            try {
-                BeanInfo beanInfo = Introspector.getBeanInfo(k);
-                PropertyDescriptor[] pds = beanInfo.getPropertyDescriptors();
-
-                Map<String, PropertyDescriptor> descriptors = new HashMap<>();
-                for (PropertyDescriptor pd : pds) {
-                    if (!"class".equals(pd.getName())) {
-                        descriptors.put(pd.getName(), pd);
-                    }
-                }
-                return descriptors;
-            } catch (IntrospectionException e) {
-                throw new RuntimeException("Failed to introspect class: " + k.getName(), e);
-            }
-        });
+    public static void clearCopyPlanCache() {
+        CopyPlanCache.clear();
     }
 }
@@ -0,0 +1,235 @@
+package cn.augrain.easy.tool.bean;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 类元数据注册表
+ * <p>
+ * 基于 {@link ClassValue} 为每个类保存属性描述符、字段等反射元数据，
+ * 供 BeanUtils、ClassUtils、TreeUtils 等共用。查询无锁，且元数据挂在类自身上，
+ * 类加载器卸载时随之回收，不会像静态 {@code Map<Class<?>, ?>} 那样钉住类
+ *
+ * @author biaoy
+ * @since 2025/07/10
+ */
+public final class ClassMetadata {
+
+    private static final ClassValue<ClassMetadata> REGISTRY = new ClassValue<ClassMetadata>() {
+        @Override
+        protected ClassMetadata computeValue(Class<?> type) {
+            return new ClassMetadata(type);
+        }
+    };
+
+    // 字段不存在时的占位
+    private static final Object MISSING = new Object();
+
+    private final Class<?> type;
+
+    private volatile Map<String, PropertyDescriptor> propertyDescriptors;
+
+    private volatile Map<String, BeanProperty> beanProperties;
+
+    private volatile BeanProperty[] readableProperties;
+
+    private volatile Supplier<?> instantiator;
+
+    private final ConcurrentMap<String, Object> fields = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Object, Object> attachments = new ConcurrentHashMap<>();
+
+    private ClassMetadata(Class<?> type) {
+        this.type = type;
+    }
+
+    /**
+     * 获取类的元数据
+     *
+     * @param type 类
+     * @return 元数据
+     */
+    public static ClassMetadata of(Class<?> type) {
+        return REGISTRY.get(type);
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * 获取属性描述符，不包含class属性
+     *
+     * @return 属性名到属性描述符的只读映射，按内省顺序排列
+     */
+    public Map<String, PropertyDescriptor> getPropertyDescriptors() {
+        Map<String, PropertyDescriptor> descriptors = propertyDescriptors;
+        if (descriptors == null) {
+            descriptors = introspect(type);
+            propertyDescriptors = descriptors;
+        }
+        return descriptors;
+    }
+
+    /**
+     * 获取属性描述符
+     *
+     * @param name 属性名
+     * @return 属性描述符，不存在时返回null
+     */
+    public PropertyDescriptor getPropertyDescriptor(String name) {
+        return getPropertyDescriptors().get(name);
+    }
+
+    /**
+     * 获取编译好访问器的属性
+     *
+     * @return 属性名到属性的只读映射，按内省顺序排列
+     */
+    Map<String, BeanProperty> getBeanProperties() {
+        Map<String, BeanProperty> properties = beanProperties;
+        if (properties == null) {
+            Map<String, PropertyDescriptor> descriptors = getPropertyDescriptors();
+            properties = new LinkedHashMap<>(descriptors.size() * 4 / 3 + 1);
+            for (PropertyDescriptor pd : descriptors.values()) {
+                properties.put(pd.getName(), BeanProperty.of(pd));
+            }
+            properties = Collections.unmodifiableMap(properties);
+            beanProperties = properties;
+        }
+        return properties;
+    }
+
+    /**
+     * 获取属性编译好的getter
+     *
+     * @param name 属性名
+     * @return getter，属性不存在或不可读时返回null
+     */
+    public Function<Object, Object> getPropertyGetter(String name) {
+        BeanProperty property = getBeanProperties().get(name);
+        return property == null ? null : property.getter();
+    }
+
+    /**
+     * 获取属性编译好的setter
+     *
+     * @param name 属性名
+     * @return setter，属性不存在或不可写时返回null
+     */
+    public BiConsumer<Object, Object> getPropertySetter(String name) {
+        BeanProperty property = getBeanProperties().get(name);
+        return property == null ? null : property.setter();
+    }
+
+    /**
+     * 获取所有可读属性
+     *
+     * @return 可读属性数组，调用方不能修改
+     */
+    BeanProperty[] getReadableProperties() {
+        BeanProperty[] properties = readableProperties;
+        if (properties == null) {
+            properties = getBeanProperties().values().stream()
+                    .filter(BeanProperty::isReadable)
+                    .toArray(BeanProperty[]::new);
+            readableProperties = properties;
+        }
+        return properties;
+    }
+
+    /**
+     * 获取编译好的无参构造器
+     */
+    @SuppressWarnings("unchecked")
+    <T> Supplier<T> getInstantiator() {
+        Supplier<?> supplier = instantiator;
+        if (supplier == null) {
+            supplier = PropertyAccessors.instantiator(type);
+            instantiator = supplier;
+        }
+        return (Supplier<T>) supplier;
+    }
+
+    /**
+     * 获取字段，依次在当前类及其父类中查找
+     * <p>
+     * 缓存的是字段所在的类，每次返回新的 {@link Field} 副本，未设置可访问性，
+     * 调用方修改可访问性不会影响其他调用方
+     *
+     * @param name 字段名
+     * @return 字段，不存在时返回null
+     */
+    public Field getField(String name) {
+        Object field = fields.computeIfAbsent(name, this::findField);
+        if (field == MISSING) {
+            return null;
+        }
+        try {
+            return ((Field) field).getDeclaringClass().getDeclaredField(name);
+        } catch (NoSuchFieldException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 获取附加在该类上的派生数据，不存在时计算并缓存
+     * <p>
+     * 用于缓存按类编译的访问器等，key应当不引用其他类加载器中的类
+     *
+     * @param key             数据key
+     * @param mappingFunction 计算函数
+     * @return 数据
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> V getAttachment(K key, Function<? super K, ? extends V> mappingFunction) {
+        Object value = attachments.get(key);
+        if (value == null) {
+            value = attachments.computeIfAbsent(key, k -> mappingFunction.apply((K) k));
+        }
+        return (V) value;
+    }
+
+    private Object findField(String name) {
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            try {
+                return c.getDeclaredField(name);
+            } catch (NoSuchFieldException e) {
+                // 继续在父类中查找
+            }
+        }
+        return MISSING;
+    }
+
+    private static Map<String, PropertyDescriptor> introspect(Class<?> type) {
+        try {
+            BeanInfo beanInfo = Introspector.getBeanInfo(type);
+            PropertyDescriptor[] pds = beanInfo.getPropertyDescriptors();
+            // 结果已缓存在元数据上；Introspector自身的缓存强引用BeanInfo，会阻止类加载器卸载
+            for (Class<?> c = type; c != null && c.getClassLoader() != null; c = c.getSuperclass()) {
+                Introspector.flushFromCaches(c);
+            }
+
+            Map<String, PropertyDescriptor> descriptors = new LinkedHashMap<>(pds.length * 4 / 3 + 1);
+            for (PropertyDescriptor pd : pds) {
+                if (!"class".equals(pd.getName())) {
+                    descriptors.put(pd.getName(), pd);
+                }
+            }
+            return Collections.unmodifiableMap(descriptors);
+        } catch (IntrospectionException e) {
+            throw new RuntimeException("Failed to introspect class: " + type.getName(), e);
+        }
+    }
+}
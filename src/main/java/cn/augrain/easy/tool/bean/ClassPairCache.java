@@ -0,0 +1,75 @@
+package cn.augrain.easy.tool.bean;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+
+/**
+ * 以 (源类型, 目标类型) 为key的缓存
+ * <p>
+ * 缓存值（如复制计划）通常同时引用两端的类，因此缓存项只挂在生命周期较短的一端：
+ * 另一端的类加载器是这一端的类加载器本身或其祖先时，另一端不会更早卸载，以它为key强引用不会延长任何类的生命周期。
+ * <ul>
+ *     <li>目标类型对源类型可见（同一加载器、父加载器、JDK类型）时挂在源类型上，源类型卸载即回收</li>
+ *     <li>否则挂在目标类型上，以源类型为key</li>
+ * </ul>
+ * 两端的类加载器互不可见（如两个兄弟插件）时，缓存项在目标类型卸载前会保留源类型
+ *
+ * @author biaoy
+ * @since 2025/07/10
+ */
+final class ClassPairCache<V> {
+
+    private final BiFunction<Class<?>, Class<?>, V> computeFunction;
+
+    private final ClassValue<ConcurrentMap<Class<?>, V>> bySource = new MapValue<>();
+
+    private final ClassValue<ConcurrentMap<Class<?>, V>> byTarget = new MapValue<>();
+
+    ClassPairCache(BiFunction<Class<?>, Class<?>, V> computeFunction) {
+        this.computeFunction = computeFunction;
+    }
+
+    V get(Class<?> sourceClass, Class<?> targetClass) {
+        ConcurrentMap<Class<?>, V> values;
+        Class<?> key;
+        if (outlives(targetClass, sourceClass)) {
+            values = bySource.get(sourceClass);
+            key = targetClass;
+        } else {
+            values = byTarget.get(targetClass);
+            key = sourceClass;
+        }
+        V value = values.get(key);
+        if (value == null) {
+            value = values.computeIfAbsent(key, k -> computeFunction.apply(sourceClass, targetClass));
+        }
+        return value;
+    }
+
+    /**
+     * other的类加载器是owner的类加载器本身或其祖先时，other不会早于owner卸载
+     */
+    static boolean outlives(Class<?> other, Class<?> owner) {
+        ClassLoader loader = other.getClassLoader();
+        if (loader == null) {
+            return true;
+        }
+        for (ClassLoader current = owner.getClassLoader(); current != null; current = current.getParent()) {
+            if (current == loader) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 每个类一个map，不引用外部对象
+     */
+    private static final class MapValue<V> extends ClassValue<ConcurrentMap<Class<?>, V>> {
+        @Override
+        protected ConcurrentMap<Class<?>, V> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>(4);
+        }
+    }
+}
@@ -108,7 +108,9 @@ public class ClassUtils {
     }
 
     /**
-     * 根据字段名从目标类中，获取Field
+     * 根据字段名从目标类及其父类中，获取Field
+     * <p>
+     * 查找结果缓存在 {@link ClassMetadata} 中，每次返回新的副本，可以自行设置可访问性
      *
      * @param idName 字段名
      * @param clazz  目标类
@@ -116,11 +118,9 @@ public class ClassUtils {
      * @throws NoSuchFieldException 没有该字段名，会抛出异常
      */
     public static Field getField(String idName, Class<?> clazz) throws NoSuchFieldException {
-        Field field;
-        try {
-            field = clazz.getDeclaredField(idName);
-        } catch (NoSuchFieldException e) {
-            field = clazz.getSuperclass().getDeclaredField(idName);
+        Field field = ClassMetadata.of(clazz).getField(idName);
+        if (field == null) {
+            throw new NoSuchFieldException(idName);
         }
         return field;
     }
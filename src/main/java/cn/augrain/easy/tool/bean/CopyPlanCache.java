@@ -0,0 +1,126 @@
+package cn.augrain.easy.tool.bean;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 复制计划缓存
+ * <p>
+ * 以 (源类型, 目标类型, ignoreNull, 忽略属性) 为key缓存编译好的 {@link BeanCopier}，
+ * 每个复制计划内部是一个扁平的读写方法对数组。
+ * 缓存挂在 {@link ClassPairCache} 上，最常见的无忽略属性的调用不分配key对象，
+ * 类加载器卸载时复制计划随之回收
+ *
+ * @author biaoy
+ * @since 2025/07/06
+ */
+final class CopyPlanCache {
+
+    private static volatile Plans plans = new Plans();
+
+    private static final LongAdder LOOKUPS = new LongAdder();
+
+    private static final LongAdder MISSES = new LongAdder();
+
+    private CopyPlanCache() {
+
+    }
+
+    /**
+     * 获取复制计划，不存在时编译并缓存
+     */
+    static BeanCopier get(Class<?> sourceClass, Class<?> targetClass, boolean ignoreNull, String... ignoreProperties) {
+        LOOKUPS.increment();
+        Plans current = plans;
+        if (ignoreProperties == null || ignoreProperties.length == 0) {
+            return current.simple[ignoreNull ? 1 : 0].get(sourceClass, targetClass);
+        }
+        IgnoreKey key = new IgnoreKey(ignoreNull, ignoreProperties);
+        return current.ignore.get(sourceClass, targetClass)
+                .computeIfAbsent(key, k -> current.install(
+                        compile(sourceClass, targetClass, ignoreNull, ignoreProperties)));
+    }
+
+    /**
+     * 统计信息
+     */
+    static CopyPlanStats stats() {
+        long misses = MISSES.sum();
+        return new CopyPlanStats(LOOKUPS.sum() - misses, misses, plans.size.sum());
+    }
+
+    /**
+     * 清空缓存与计数
+     */
+    static void clear() {
+        plans = new Plans();
+        LOOKUPS.reset();
+        MISSES.reset();
+    }
+
+    private static BeanCopier compile(Class<?> sourceClass, Class<?> targetClass, boolean ignoreNull,
+                                      String... ignoreProperties) {
+        MISSES.increment();
+        return BeanCopier.create(sourceClass, targetClass, ignoreNull, ignoreProperties);
+    }
+
+    /**
+     * 一代缓存，清空时整体替换
+     */
+    private static final class Plans {
+        // 本代缓存中已装入的复制计划个数，computeIfAbsent保证每个key只计一次
+        private final LongAdder size = new LongAdder();
+
+        // 无忽略属性的复制计划，下标0为不忽略null，1为忽略null
+        @SuppressWarnings("unchecked")
+        private final ClassPairCache<BeanCopier>[] simple = new ClassPairCache[]{
+                new ClassPairCache<>((s, t) -> install(compile(s, t, false))),
+                new ClassPairCache<>((s, t) -> install(compile(s, t, true)))
+        };
+
+        // 带忽略属性的复制计划
+        private final ClassPairCache<ConcurrentMap<IgnoreKey, BeanCopier>> ignore =
+                new ClassPairCache<>((s, t) -> new ConcurrentHashMap<>());
+
+        private BeanCopier install(BeanCopier copier) {
+            size.increment();
+            return copier;
+        }
+    }
+
+    /**
+     * 复制选项key，忽略属性与顺序无关
+     */
+    private static final class IgnoreKey {
+        private final boolean ignoreNull;
+        private final String[] ignoreProperties;
+        private final int hash;
+
+        IgnoreKey(boolean ignoreNull, String[] ignoreProperties) {
+            this.ignoreNull = ignoreNull;
+            String[] sorted = ignoreProperties.clone();
+            Arrays.sort(sorted);
+            this.ignoreProperties = sorted;
+            this.hash = Boolean.hashCode(ignoreNull) * 31 + Arrays.hashCode(sorted);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof IgnoreKey)) {
+                return false;
+            }
+            IgnoreKey that = (IgnoreKey) o;
+            return ignoreNull == that.ignoreNull && Arrays.equals(ignoreProperties, that.ignoreProperties);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
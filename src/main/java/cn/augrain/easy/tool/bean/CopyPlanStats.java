@@ -0,0 +1,57 @@
+package cn.augrain.easy.tool.bean;
+
+/**
+ * 复制计划缓存的统计快照
+ *
+ * @author biaoy
+ * @since 2025/07/06
+ */
+public final class CopyPlanStats {
+
+    /**
+     * 命中次数
+     */
+    private final long hitCount;
+
+    /**
+     * 未命中（编译复制计划）次数
+     */
+    private final long missCount;
+
+    /**
+     * 当前缓存中的复制计划个数，清空后从0开始，随类加载器卸载而回收的不扣除
+     */
+    private final long size;
+
+    CopyPlanStats(long hitCount, long missCount, long size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.size = size;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * 命中率，没有请求时返回1
+     */
+    public double getHitRate() {
+        long total = hitCount + missCount;
+        return total == 0 ? 1.0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return "CopyPlanStats{hitCount=" + hitCount + ", missCount=" + missCount
+                + ", size=" + size + ", hitRate=" + getHitRate() + '}';
+    }
+}
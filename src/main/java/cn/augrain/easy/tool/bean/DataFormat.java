@@ -0,0 +1,35 @@
+package cn.augrain.easy.tool.bean;
+
+/**
+ * 序列化格式
+ * <p>
+ * 二进制格式与JSON使用相同的配置和LocalDateTime处理，体积更小、解析更快，
+ * 适合服务间调用和缓存，只能通过字节相关的方法读写
+ *
+ * @author biaoy
+ * @since 2025/07/28
+ */
+public enum DataFormat {
+
+    /**
+     * 文本JSON
+     */
+    JSON,
+
+    /**
+     * Smile，JSON的二进制编码
+     */
+    SMILE,
+
+    /**
+     * CBOR (RFC 8949)
+     */
+    CBOR;
+
+    /**
+     * 是否为二进制格式
+     */
+    public boolean isBinary() {
+        return this != JSON;
+    }
+}
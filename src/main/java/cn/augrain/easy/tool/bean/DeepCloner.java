@@ -0,0 +1,427 @@
+package cn.augrain.easy.tool.bean;
+
+import cn.augrain.easy.tool.exception.UtilsRuntimeException;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 深拷贝
+ * <p>
+ * 支持嵌套bean、集合、map和数组，通过 {@link IdentityHashMap} 记录已拷贝对象，
+ * 共享引用和循环引用在拷贝后保持同样的结构。
+ * bean按字段拷贝，每个类的拷贝计划（需要拷贝的字段及其处理方式）缓存在 {@link ClassMetadata} 上，
+ * 基本类型字段通过 {@link Field#getInt} 等类型化方法读写，不装箱。
+ * <p>
+ * 拷贝不递归：遇到对象时先创建空的副本，填充内容的任务放入显式的任务栈，
+ * 很深的对象链（如数千层的嵌套bean）不会导致栈溢出。集合和map在元素全部拷贝完成后才加入元素，
+ * 保证哈希集合、排序集合中的元素是完整的
+ * <ul>
+ *     <li>String、包装类型、枚举、BigDecimal、java.time 等不可变类型直接复用</li>
+ *     <li>bean需要有无参构造器</li>
+ *     <li>无法实例化的集合（如不可变集合）拷贝为 ArrayList/LinkedHashSet/LinkedHashMap</li>
+ *     <li>数组元素按实际类型判断是否需要拷贝，{@code Object[]} 中的bean、集合同样深拷贝</li>
+ *     <li>Date、Calendar、原子类型、StringBuilder 等可变JDK类型拷贝一份；原子引用的值同样深拷贝</li>
+ *     <li>其余JDK类型无法访问字段：提供公开 clone() 方法的按 clone() 浅拷贝，否则直接复用引用</li>
+ * </ul>
+ *
+ * @author biaoy
+ * @since 2025/07/15
+ */
+public final class DeepCloner {
+
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class, BigDecimal.class, BigInteger.class, Class.class, UUID.class, Locale.class));
+
+    private final IdentityHashMap<Object, Object> cloned = new IdentityHashMap<>();
+
+    // 待执行的填充任务，后进先出
+    private final ArrayDeque<Runnable> pending = new ArrayDeque<>();
+
+    private DeepCloner() {
+
+    }
+
+    /**
+     * 深拷贝对象
+     *
+     * @param source 源对象
+     * @return 拷贝后的对象，source为null时返回null
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T clone(T source) {
+        if (source == null) {
+            return null;
+        }
+        DeepCloner cloner = new DeepCloner();
+        Object copy = cloner.cloneObject(source);
+        while (!cloner.pending.isEmpty()) {
+            cloner.pending.pop().run();
+        }
+        return (T) copy;
+    }
+
+    /**
+     * 返回对象的副本，副本的内容由任务栈中的任务填充
+     */
+
+    private Object cloneObject(Object source) {
+        if (source == null) {
+            return null;
+        }
+        Class<?> type = source.getClass();
+        if (isImmutable(type)) {
+            return source;
+        }
+        Object copy = cloned.get(source);
+        if (copy != null) {
+            return copy;
+        }
+        if (type.isArray()) {
+            return cloneArray(source, type);
+        }
+        if (source instanceof Collection) {
+            return cloneCollection((Collection<?>) source);
+        }
+        if (source instanceof Map) {
+            return cloneMap((Map<?, ?>) source);
+        }
+        if (isJdkType(type)) {
+            return cloneJdkObject(source);
+        }
+        return cloneBean(source, type);
+    }
+
+    private Object cloneArray(Object source, Class<?> type) {
+        Class<?> componentType = type.getComponentType();
+        if (componentType.isPrimitive()) {
+            Object copy = primitiveArrayClone(source);
+            cloned.put(source, copy);
+            return copy;
+        }
+        Object[] array = (Object[]) source;
+        Object[] copy = (Object[]) Array.newInstance(componentType, array.length);
+        cloned.put(source, copy);
+        // 只有声明类型本身不可变时才能直接复用，Object[] 等按元素的实际类型处理
+        if (isImmutable(componentType) && Modifier.isFinal(componentType.getModifiers())) {
+            System.arraycopy(array, 0, copy, 0, array.length);
+        } else {
+            pending.push(() -> {
+                for (int i = 0; i < array.length; i++) {
+                    copy[i] = cloneObject(array[i]);
+                }
+            });
+        }
+        return copy;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object cloneCollection(Collection<?> source) {
+        Collection copy = newCollection(source);
+        cloned.put(source, copy);
+        pending.push(() -> {
+            Object[] elements = source.toArray();
+            // 先入栈的加入任务在元素及其后代的填充任务之后执行
+            pending.push(() -> Collections.addAll(copy, elements));
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = cloneObject(elements[i]);
+            }
+        });
+        return copy;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object cloneMap(Map<?, ?> source) {
+        Map copy = newMap(source);
+        cloned.put(source, copy);
+        pending.push(() -> {
+            int size = source.size();
+            Object[] keys = new Object[size];
+            Object[] values = new Object[size];
+            int n = 0;
+            for (Map.Entry<?, ?> entry : source.entrySet()) {
+                if (n == keys.length) {
+                    // 并发map在遍历时可能变大
+                    keys = Arrays.copyOf(keys, Math.max(1, n << 1));
+                    values = Arrays.copyOf(values, Math.max(1, n << 1));
+                }
+                keys[n] = entry.getKey();
+                values[n++] = entry.getValue();
+            }
+            Object[] clonedKeys = keys;
+            Object[] clonedValues = values;
+            int count = n;
+            pending.push(() -> {
+                for (int i = 0; i < count; i++) {
+                    copy.put(clonedKeys[i], clonedValues[i]);
+                }
+            });
+            for (int i = 0; i < count; i++) {
+                clonedKeys[i] = cloneObject(clonedKeys[i]);
+                clonedValues[i] = cloneObject(clonedValues[i]);
+            }
+        });
+        return copy;
+    }
+
+    private Object cloneBean(Object source, Class<?> type) {
+        ClonePlan plan = ClassMetadata.of(type).getAttachment(ClonePlan.class, k -> ClonePlan.create(type));
+        Object copy = plan.newInstance();
+        cloned.put(source, copy);
+        pending.push(() -> {
+            try {
+                for (FieldCloner field : plan.fields) {
+                    field.copy(source, copy, this);
+                }
+            } catch (IllegalAccessException e) {
+                throw new UtilsRuntimeException(e);
+            }
+        });
+        return copy;
+    }
+
+    /**
+     * JDK类型无法通过字段拷贝，常见的可变类型单独处理
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object cloneJdkObject(Object source) {
+        Object copy;
+        if (source instanceof AtomicReference) {
+            AtomicReference reference = new AtomicReference();
+            cloned.put(source, reference);
+            pending.push(() -> reference.set(cloneObject(((AtomicReference) source).get())));
+            return reference;
+        } else if (source instanceof AtomicInteger) {
+            copy = new AtomicInteger(((AtomicInteger) source).get());
+        } else if (source instanceof AtomicLong) {
+            copy = new AtomicLong(((AtomicLong) source).get());
+        } else if (source instanceof AtomicBoolean) {
+            copy = new AtomicBoolean(((AtomicBoolean) source).get());
+        } else if (source instanceof StringBuilder) {
+            copy = new StringBuilder((StringBuilder) source);
+        } else if (source instanceof StringBuffer) {
+            copy = new StringBuffer((StringBuffer) source);
+        } else if (source instanceof Cloneable) {
+            copy = tryClone(source);
+        } else {
+            return source;
+        }
+        cloned.put(source, copy);
+        return copy;
+    }
+
+    /**
+     * 调用公开的 clone() 方法，如 Date、Calendar、BitSet；不可访问时复用引用
+     */
+    private static Object tryClone(Object source) {
+        try {
+            Method method = source.getClass().getMethod("clone");
+            return method.invoke(source);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return source;
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Collection<Object> newCollection(Collection<?> source) {
+        if (source.getClass() == ArrayList.class) {
+            return new ArrayList<>(source.size());
+        }
+        if (source instanceof TreeSet) {
+            return new TreeSet<>(((TreeSet) source).comparator());
+        }
+        if (source instanceof ConcurrentSkipListSet) {
+            return new ConcurrentSkipListSet<>(((ConcurrentSkipListSet) source).comparator());
+        }
+        if (source instanceof PriorityQueue) {
+            return new PriorityQueue<>(Math.max(1, source.size()), ((PriorityQueue) source).comparator());
+        }
+        if (source instanceof EnumSet) {
+            return ((EnumSet) source).clone();
+        }
+        Collection<Object> copy = (Collection<Object>) tryInstantiate(source.getClass());
+        if (copy != null) {
+            return copy;
+        }
+        if (source instanceof Set) {
+            return new LinkedHashSet<>(source.size() * 4 / 3 + 1);
+        }
+        if (source instanceof Queue) {
+            return new ArrayDeque<>(source.size());
+        }
+        return new ArrayList<>(source.size());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Map<Object, Object> newMap(Map<?, ?> source) {
+        if (source.getClass() == HashMap.class) {
+            return new HashMap<>(source.size() * 4 / 3 + 1);
+        }
+        if (source instanceof TreeMap) {
+            return new TreeMap<>(((TreeMap) source).comparator());
+        }
+        if (source instanceof ConcurrentSkipListMap) {
+            return new ConcurrentSkipListMap<>(((ConcurrentSkipListMap) source).comparator());
+        }
+        if (source instanceof EnumMap) {
+            EnumMap copy = new EnumMap((EnumMap) source);
+            copy.clear();
+            return copy;
+        }
+        if (source instanceof ConcurrentHashMap) {
+            return new ConcurrentHashMap<>(source.size() * 4 / 3 + 1);
+        }
+        Map<Object, Object> copy = (Map<Object, Object>) tryInstantiate(source.getClass());
+        return copy != null ? copy : new LinkedHashMap<>(source.size() * 4 / 3 + 1);
+    }
+
+    /**
+     * 集合只有在公开无参构造器可用时才按原类型创建，避免不可变集合、视图等类型
+     */
+    private static Object tryInstantiate(Class<?> type) {
+        if (!Modifier.isPublic(type.getModifiers())) {
+            return null;
+        }
+        try {
+            return type.getConstructor().newInstance();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static Object primitiveArrayClone(Object array) {
+        if (array instanceof int[]) return ((int[]) array).clone();
+        if (array instanceof long[]) return ((long[]) array).clone();
+        if (array instanceof double[]) return ((double[]) array).clone();
+        if (array instanceof byte[]) return ((byte[]) array).clone();
+        if (array instanceof char[]) return ((char[]) array).clone();
+        if (array instanceof boolean[]) return ((boolean[]) array).clone();
+        if (array instanceof float[]) return ((float[]) array).clone();
+        return ((short[]) array).clone();
+    }
+
+    static boolean isImmutable(Class<?> type) {
+        return type.isPrimitive() || type.isEnum() || IMMUTABLE_TYPES.contains(type)
+                || (type.getName().startsWith("java.time.") && Modifier.isFinal(type.getModifiers()))
+                || (type.getSuperclass() != null && type.getSuperclass().isEnum());
+    }
+
+    private static boolean isJdkType(Class<?> type) {
+        String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("sun.")
+                || name.startsWith("jdk.") || name.startsWith("com.sun.");
+    }
+
+    /**
+     * 单个类的拷贝计划
+     */
+    private static final class ClonePlan {
+        private final Class<?> type;
+        private final FieldCloner[] fields;
+
+        private ClonePlan(Class<?> type, FieldCloner[] fields) {
+            this.type = type;
+            this.fields = fields;
+        }
+
+        static ClonePlan create(Class<?> type) {
+            List<FieldCloner> fields = new ArrayList<>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    fields.add(new FieldCloner(field));
+                }
+            }
+            return new ClonePlan(type, fields.toArray(new FieldCloner[0]));
+        }
+
+        Object newInstance() {
+            return ClassMetadata.of(type).getInstantiator().get();
+        }
+    }
+
+    /**
+     * 单个字段的拷贝方式，在生成计划时确定
+     */
+    private static final class FieldCloner {
+        private final Field field;
+        private final char kind;
+
+        FieldCloner(Field field) {
+            this.field = field;
+            Class<?> type = field.getType();
+            if (type.isPrimitive()) {
+                this.kind = primitiveKind(type);
+            } else if (isImmutable(type) && Modifier.isFinal(type.getModifiers()) || type.isEnum()) {
+                // 声明类型本身不可变，直接复用引用
+                this.kind = 'R';
+            } else {
+                this.kind = 'L';
+            }
+        }
+
+        /**
+         * 基本类型使用JVM描述符表示，避免装箱
+         */
+        private static char primitiveKind(Class<?> type) {
+            if (type == int.class) return 'I';
+            if (type == long.class) return 'J';
+            if (type == double.class) return 'D';
+            if (type == boolean.class) return 'Z';
+            if (type == float.class) return 'F';
+            if (type == byte.class) return 'B';
+            if (type == short.class) return 'S';
+            return 'C';
+        }
+
+        void copy(Object source, Object target, DeepCloner cloner) throws IllegalAccessException {
+            switch (kind) {
+                case 'I':
+                    field.setInt(target, field.getInt(source));
+                    break;
+                case 'J':
+                    field.setLong(target, field.getLong(source));
+                    break;
+                case 'D':
+                    field.setDouble(target, field.getDouble(source));
+                    break;
+                case 'Z':
+                    field.setBoolean(target, field.getBoolean(source));
+                    break;
+                case 'F':
+                    field.setFloat(target, field.getFloat(source));
+                    break;
+                case 'B':
+                    field.setByte(target, field.getByte(source));
+                    break;
+                case 'S':
+                    field.setShort(target, field.getShort(source));
+                    break;
+                case 'C':
+                    field.setChar(target, field.getChar(source));
+                    break;
+                case 'R':
+                    field.set(target, field.get(source));
+                    break;
+                default:
+                    field.set(target, cloner.cloneObject(field.get(source)));
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package cn.augrain.easy.tool.bean;
+
+import java.lang.annotation.*;
+
+/**
+ * 声明在编译期生成 {@link GeneratedMapper}
+ * <p>
+ * 可标注在任意类型上，生成的映射器位于被标注类型所在的包，命名为 {@code 源类名To目标类名Mapper}。
+ * 按属性名匹配源类型的getter和目标类型的setter，类型兼容规则与 {@link BeanCopier} 一致
+ * <pre>
+ * &#64;GenerateMapper(source = UserDTO.class, target = User.class)
+ * &#64;GenerateMapper(source = User.class, target = UserVO.class)
+ * public class MapperConfig {
+ * }
+ * </pre>
+ * 处理器不随主jar自动注册，需要在编译时显式启用，如maven：
+ * <pre>
+ * &lt;annotationProcessorPaths&gt;
+ *     &lt;path&gt;lombok&lt;/path&gt;
+ *     &lt;path&gt;cn.augrain:easy-tool:${version}:processor&lt;/path&gt;
+ * &lt;/annotationProcessorPaths&gt;
+ * </pre>
+ * 或通过 {@code -processor cn.augrain.easy.tool.bean.processor.MapperProcessor} 指定。
+ * 存在需要类型转换或深拷贝的属性时，生成的映射器不完整，运行时仍使用orika
+ *
+ * @author biaoy
+ * @since 2025/07/18
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+@Repeatable(GenerateMapper.List.class)
+public @interface GenerateMapper {
+
+    /**
+     * 源类型
+     */
+    Class<?> source();
+
+    /**
+     * 目标类型，需要有公开的无参构造器
+     */
+    Class<?> target();
+
+    /**
+     * {@link GenerateMapper} 的容器
+     */
+    @Documented
+    @Retention(RetentionPolicy.CLASS)
+    @Target(ElementType.TYPE)
+    @interface List {
+        GenerateMapper[] value();
+    }
+}
@@ -0,0 +1,55 @@
+package cn.augrain.easy.tool.bean;
+
+/**
+ * 编译期生成的映射器
+ * <p>
+ * 由 {@link GenerateMapper} 注解触发生成，直接调用getter/setter，运行时没有反射和字节码生成。
+ * 生成的实现通过 {@code META-INF/services} 注册，{@link BeanMapper} 只在映射器完整覆盖该对类型时使用，
+ * 否则仍由orika处理，见 {@link #isComplete()}
+ *
+ * @param <S> 源类型
+ * @param <D> 目标类型
+ * @author biaoy
+ * @since 2025/07/18
+ */
+public interface GeneratedMapper<S, D> {
+
+    /**
+     * 源类型
+     *
+     * @return 源类型
+     */
+    Class<S> sourceType();
+
+    /**
+     * 目标类型
+     *
+     * @return 目标类型
+     */
+    Class<D> destinationType();
+
+    /**
+     * 是否完整覆盖该对类型：所有同名属性都已直接复制，且不需要类型转换或深拷贝
+     *
+     * @return 不完整时 {@link BeanMapper} 使用orika
+     */
+    default boolean isComplete() {
+        return true;
+    }
+
+    /**
+     * 复制出新的目标对象
+     *
+     * @param source 源对象
+     * @return 目标对象，source为null时返回null
+     */
+    D map(S source);
+
+    /**
+     * 复制到已有的目标对象，源对象中为null的属性不覆盖目标对象
+     *
+     * @param source      源对象
+     * @param destination 目标对象
+     */
+    void map(S source, D destination);
+}
@@ -0,0 +1,122 @@
+package cn.augrain.easy.tool.bean;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 编译期生成的映射器注册表
+ * <p>
+ * 首次使用时通过 {@link ServiceLoader} 加载所有生成的映射器，按源类型挂在 {@link ClassValue} 上
+ *
+ * @author biaoy
+ * @since 2025/07/18
+ */
+@Slf4j
+final class GeneratedMappers {
+
+    private static final ClassValue<ConcurrentMap<Class<?>, GeneratedMapper<?, ?>>> REGISTRY =
+            new ClassValue<ConcurrentMap<Class<?>, GeneratedMapper<?, ?>>>() {
+                @Override
+                protected ConcurrentMap<Class<?>, GeneratedMapper<?, ?>> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>(4);
+                }
+            };
+
+    private GeneratedMappers() {
+
+    }
+
+    /**
+     * 注册映射器，同一对类型后注册的覆盖先注册的
+     *
+     * @param mapper 映射器
+     */
+    static void register(GeneratedMapper<?, ?> mapper) {
+        REGISTRY.get(mapper.sourceType()).put(mapper.destinationType(), mapper);
+    }
+
+    /**
+     * 获取可以代替orika的映射器
+     *
+     * @return 完整覆盖该对类型的映射器，不存在或不完整时返回null
+     * @see GeneratedMapper#isComplete()
+     */
+    @SuppressWarnings("unchecked")
+    static <S, D> GeneratedMapper<S, D> get(Class<?> sourceClass, Class<D> destinationClass) {
+        Loader.ensureLoaded();
+        GeneratedMapper<?, ?> mapper = REGISTRY.get(sourceClass).get(destinationClass);
+        return mapper != null && mapper.isComplete() ? (GeneratedMapper<S, D>) mapper : null;
+    }
+
+    /**
+     * 通过 {@link ServiceLoader} 加载到的所有映射器
+     *
+     * @return 映射器列表
+     */
+    static List<GeneratedMapper<?, ?>> loaded() {
+        return Loader.MAPPERS;
+    }
+
+    /**
+     * 每个映射器的加载结果，耗时为该映射器类的加载和实例化时间
+     *
+     * @return 加载结果，顺序与 {@link #loaded()} 一致
+     */
+    static List<PreloadResult> loadResults() {
+        return Loader.RESULTS;
+    }
+
+    /**
+     * 延迟加载，只在第一次查找时扫描
+     */
+    private static final class Loader {
+        private static final List<GeneratedMapper<?, ?>> MAPPERS;
+
+        private static final List<PreloadResult> RESULTS;
+
+        static {
+            List<GeneratedMapper<?, ?>> mappers = new ArrayList<>();
+            List<PreloadResult> results = new ArrayList<>();
+            load(mappers, results);
+            MAPPERS = Collections.unmodifiableList(mappers);
+            RESULTS = Collections.unmodifiableList(results);
+        }
+
+        static void ensureLoaded() {
+            // 触发类初始化
+        }
+
+        /**
+         * ServiceLoader的迭代器在next()时才加载并实例化实现类，逐个计时
+         */
+        @SuppressWarnings("rawtypes")
+        private static void load(List<GeneratedMapper<?, ?>> mappers, List<PreloadResult> results) {
+            try {
+                Iterator<GeneratedMapper> iterator = ServiceLoader.load(GeneratedMapper.class).iterator();
+                while (true) {
+                    long start = System.nanoTime();
+                    if (!iterator.hasNext()) {
+                        break;
+                    }
+                    GeneratedMapper<?, ?> mapper = iterator.next();
+                    long elapsed = System.nanoTime() - start;
+                    register(mapper);
+                    mappers.add(mapper);
+                    results.add(new PreloadResult(mapper.sourceType(), mapper.destinationType(),
+                            PreloadResult.BACKEND_GENERATED, elapsed, null));
+                }
+            } catch (ServiceConfigurationError e) {
+                log.error("load generated mappers error ", e);
+            }
+            log.debug("loaded {} generated mappers", mappers.size());
+        }
+    }
+}
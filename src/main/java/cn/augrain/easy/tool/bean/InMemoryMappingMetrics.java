@@ -0,0 +1,108 @@
+package cn.augrain.easy.tool.bean;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 内存中的映射指标，按 (操作, 源类型, 目标类型) 累计调用次数、总耗时、最大耗时和分配字节数
+ * <p>
+ * 以类名而不是Class为key，不会钉住类加载器。通过 {@link #snapshot()} 导出到监控系统
+ * <pre>
+ * InMemoryMappingMetrics metrics = new InMemoryMappingMetrics();
+ * MappingInstrumentation.setMetrics(metrics);
+ * ...
+ * metrics.snapshot().forEach(stats -&gt; ...);
+ * </pre>
+ *
+ * @author biaoy
+ * @since 2025/07/22
+ */
+public class InMemoryMappingMetrics implements MappingMetrics {
+
+    private final Map<Key, Counter> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public void record(String operation, Class<?> sourceClass, Class<?> targetClass, long elapsedNanos,
+                       long allocatedBytes) {
+        Key key = new Key(operation, sourceClass == null ? null : sourceClass.getName(),
+                targetClass == null ? null : targetClass.getName());
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(key, k -> new Counter());
+        }
+        counter.count.increment();
+        counter.totalNanos.add(elapsedNanos);
+        counter.maxNanos.accumulate(elapsedNanos);
+        if (allocatedBytes >= 0) {
+            counter.allocatedBytes.add(allocatedBytes);
+            counter.allocationTracked = true;
+        }
+    }
+
+    /**
+     * 导出统计快照，按总耗时倒序
+     *
+     * @return 统计列表
+     */
+    public List<MappingStats> snapshot() {
+        List<MappingStats> stats = new ArrayList<>(counters.size());
+        counters.forEach((key, counter) -> stats.add(new MappingStats(key.operation, key.sourceClass,
+                key.targetClass, counter.count.sum(), counter.totalNanos.sum(), counter.maxNanos.get(),
+                counter.allocationTracked ? counter.allocatedBytes.sum() : -1)));
+        stats.sort(Comparator.comparingLong(MappingStats::getTotalNanos).reversed());
+        return stats;
+    }
+
+    /**
+     * 清空统计
+     */
+    public void reset() {
+        counters.clear();
+    }
+
+    private static final class Counter {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder allocatedBytes = new LongAdder();
+        private volatile boolean allocationTracked;
+    }
+
+    private static final class Key {
+        private final String operation;
+        private final String sourceClass;
+        private final String targetClass;
+        private final int hash;
+
+        Key(String operation, String sourceClass, String targetClass) {
+            this.operation = operation;
+            this.sourceClass = sourceClass;
+            this.targetClass = targetClass;
+            this.hash = Objects.hash(operation, sourceClass, targetClass);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return Objects.equals(operation, that.operation) && Objects.equals(sourceClass, that.sourceClass)
+                    && Objects.equals(targetClass, that.targetClass);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
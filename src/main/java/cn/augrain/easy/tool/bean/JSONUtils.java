@@ -1,51 +1,70 @@
 package cn.augrain.easy.tool.bean;
 
 
-import cn.augrain.easy.tool.core.StringUtils;
-import cn.augrain.easy.tool.time.LocalDateTimeUtils;
-import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.databind.*;
-import com.fasterxml.jackson.databind.module.SimpleModule;
-import lombok.extern.slf4j.Slf4j;
-
-import java.io.IOException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import java.io.InputStream;
-import java.time.LocalDateTime;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.stream.Stream;
 
 
 /**
  * JSON 转换工具
+ * <p>
+ * 静态方法委托给默认的 {@link JsonEngine}，需要其他配置时自行构建引擎
  *
  * @create: 2019-09-02 19:44
  */
-@Slf4j
 public class JSONUtils {
 
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
-
-    static {
-        OBJECT_MAPPER.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false); // 忽略未知属性，而不返回失败
-        OBJECT_MAPPER.configure(JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES, true); // 允许非标准的json格式：json字段名称可以不使用"包裹
-        OBJECT_MAPPER.configure(JsonParser.Feature.ALLOW_SINGLE_QUOTES, true); // 允许非标准的json格式：json字段名称和字段值可以使用'包裹
-        OBJECT_MAPPER.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
-        OBJECT_MAPPER.registerModule(new SimpleModule()
-                .addDeserializer(LocalDateTime.class, new JsonDeserializer<LocalDateTime>() {
-                    @Override
-                    public LocalDateTime deserialize(JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException {
-                        return LocalDateTimeUtils.parse(jsonParser.getValueAsString());
-                    }
-                })
-                .addSerializer(LocalDateTime.class, new JsonSerializer<LocalDateTime>() {
-                    @Override
-                    public void serialize(
-                            LocalDateTime localDateTime, JsonGenerator jsonGenerator, SerializerProvider serializerProvider)
-                            throws IOException {
-                        jsonGenerator.writeString(LocalDateTimeUtils.format(localDateTime, LocalDateTimeUtils.NORM_DATETIME_PATTERN));
-                    }
-                })
-        );
+    private static final JsonEngine ENGINE = JsonEngine.builder().build();
+
+    /**
+     * 二进制格式的默认引擎，第一次使用时才创建
+     */
+    private static final class Smile {
+        private static final JsonEngine ENGINE = JsonEngine.builder().format(DataFormat.SMILE).build();
+    }
+
+    private static final class Cbor {
+        private static final JsonEngine ENGINE = JsonEngine.builder().format(DataFormat.CBOR).build();
+    }
+
+    /**
+     * 延迟创建默认ObjectMapper的副本
+     */
+    private static final class DetachedMapper {
+        private static final ObjectMapper MAPPER = ENGINE.getObjectMapper().copy();
+    }
+
+    /**
+     * 获取默认的JSON引擎
+     */
+    public static JsonEngine getEngine() {
+        return ENGINE;
+    }
+
+    /**
+     * 获取指定格式的默认引擎
+     *
+     * @param format 格式
+     * @return 引擎
+     */
+    public static JsonEngine getEngine(DataFormat format) {
+        switch (format) {
+            case SMILE:
+                return Smile.ENGINE;
+            case CBOR:
+                return Cbor.ENGINE;
+            default:
+                return ENGINE;
+        }
     }
 
     /**
@@ -54,12 +73,7 @@ public class JSONUtils {
      * 如果集合为空集合, 返回"[]".
      */
     public static String toString(Object object) {
-        try {
-            return OBJECT_MAPPER.writeValueAsString(object);
-        } catch (IOException e) {
-            log.error("method fromJson happen err : {}, jsonString : {}", e, object);
-            return null;
-        }
+        return ENGINE.toJson(object);
     }
 
     /**
@@ -68,25 +82,21 @@ public class JSONUtils {
      * 如果JSON字符串为Null或"null"字符串, 返回Null.
      * 如果JSON字符串为"[]", 返回空集合.
      * <p>
-     * 如需反序列化复杂Collection如List<MyBean>, 请使用fromJson(String,JavaType)
+     * 如需反序列化复杂Collection如List<MyBean>, 请使用codec(TypeReference)
+     *
+     * @deprecated 保留实例方法以兼容已编译的调用方，请使用 {@code JSONUtils.getEngine().fromJson(jsonString, clazz)}
      */
+    @Deprecated
     public <T> T fromJson(String jsonString, Class<T> clazz) {
-        if (StringUtils.isEmpty(jsonString)) return null;
-        try {
-            return OBJECT_MAPPER.readValue(jsonString, clazz);
-        } catch (Exception e) {
-            log.error("method fromJson happen err : {}, jsonString : {}", e, jsonString);
-            return null;
-        }
+        return ENGINE.fromJson(jsonString, clazz);
     }
 
+    /**
+     * @deprecated 请使用 {@code JSONUtils.getEngine().fromJson(inputStream, clazz)}
+     */
+    @Deprecated
     public <T> T fromJson(InputStream inputStream, Class<T> clazz) {
-        try {
-            return OBJECT_MAPPER.readValue(inputStream, clazz);
-        } catch (IOException e) {
-            log.error("method fromJson happen err", e);
-            return null;
-        }
+        return ENGINE.fromJson(inputStream, clazz);
     }
 
     /**
@@ -96,21 +106,289 @@ public class JSONUtils {
      * @param clazz
      * @param <T>
      * @return
+     * @deprecated 请使用 {@code JSONUtils.getEngine().listFromJson(jsonString, clazz)} 或 {@link #listCodec(Class)}
      */
+    @Deprecated
     public <T> List<T> listFromJson(String jsonString, Class<T> clazz) {
-        if (StringUtils.isEmpty(jsonString)) {
-            return null;
-        }
-        JavaType javaType = OBJECT_MAPPER.getTypeFactory().constructParametricType(List.class, clazz);
-        try {
-            return OBJECT_MAPPER.readValue(jsonString, javaType);
-        } catch (Exception e) {
-            log.error("method fromJson happen err : {}, jsonString : {}", e, jsonString);
-            return null;
-        }
+        return ENGINE.listFromJson(jsonString, clazz);
+    }
+
+    /**
+     * 序列化为UTF-8字节，不经过中间String
+     *
+     * @param object 对象
+     * @return 字节数组，出错时返回null
+     */
+    public static byte[] toBytes(Object object) {
+        return ENGINE.toBytes(object);
+    }
+
+    /**
+     * 按指定格式序列化为字节
+     *
+     * @param object 对象
+     * @param format 格式
+     * @return 字节数组，出错时返回null
+     */
+    public static byte[] toBytes(Object object, DataFormat format) {
+        return getEngine(format).toBytes(object);
+    }
+
+    /**
+     * 序列化并直接写入输出流，写完后不关闭输出流
+     *
+     * @param object       对象
+     * @param outputStream 输出流
+     */
+    public static void writeTo(Object object, OutputStream outputStream) {
+        ENGINE.writeTo(object, outputStream);
+    }
+
+    /**
+     * 按指定格式序列化并写入输出流，写完后不关闭输出流
+     *
+     * @param object       对象
+     * @param outputStream 输出流
+     * @param format       格式
+     */
+    public static void writeTo(Object object, OutputStream outputStream, DataFormat format) {
+        getEngine(format).writeTo(object, outputStream);
+    }
+
+    /**
+     * 序列化到当前线程可复用的缓冲区，见 {@link JsonBuffer#local()}
+     * <p>
+     * 返回的缓冲区在同一线程下次调用前有效
+     *
+     * @param object 对象
+     * @return 缓冲区
+     */
+    public static JsonBuffer toBuffer(Object object) {
+        return ENGINE.toBuffer(object);
+    }
+
+    /**
+     * 从UTF-8字节反序列化
+     *
+     * @param bytes 字节数组
+     * @param clazz 类型
+     * @return 对象，bytes为空或出错时返回null
+     */
+    public static <T> T fromBytes(byte[] bytes, Class<T> clazz) {
+        return ENGINE.fromBytes(bytes, clazz);
+    }
+
+    /**
+     * 从字节数组的指定区间反序列化，不复制数组
+     *
+     * @param bytes  字节数组
+     * @param offset 起始位置
+     * @param length 长度
+     * @param clazz  类型
+     * @return 对象，出错时返回null
+     */
+    public static <T> T fromBytes(byte[] bytes, int offset, int length, Class<T> clazz) {
+        return ENGINE.fromBytes(bytes, offset, length, clazz);
+    }
+
+    /**
+     * 按指定格式从字节反序列化
+     *
+     * @param bytes  字节数组
+     * @param clazz  类型
+     * @param format 格式
+     * @return 对象，bytes为空或出错时返回null
+     */
+    public static <T> T fromBytes(byte[] bytes, Class<T> clazz, DataFormat format) {
+        return getEngine(format).fromBytes(bytes, clazz);
+    }
+
+    /**
+     * 从ByteBuffer的剩余内容反序列化，不改变buffer的position
+     * <p>
+     * 堆内buffer直接读取其数组，直接内存buffer按流读取，均不复制内容
+     *
+     * @param buffer buffer
+     * @param clazz  类型
+     * @return 对象，出错时返回null
+     */
+    public static <T> T fromByteBuffer(ByteBuffer buffer, Class<T> clazz) {
+        return ENGINE.fromByteBuffer(buffer, clazz);
+    }
+
+    /**
+     * 按JSON路径提取值，如 {@code $.data.items[*].id}
+     * <p>
+     * 基于token流读取，跳过不需要的子树，不绑定整个文档。读取完毕后关闭输入流
+     *
+     * @param inputStream 输入流
+     * @param path        JSON路径，语法见 {@link JsonPathExtractor}
+     * @return 命中的值，对象和数组分别为Map和List
+     */
+    public static List<Object> extract(InputStream inputStream, String path) {
+        return ENGINE.extract(inputStream, path, Object.class);
+    }
+
+    /**
+     * 按JSON路径提取值并绑定为指定类型
+     *
+     * @param inputStream 输入流
+     * @param path        JSON路径
+     * @param clazz       值类型
+     * @return 命中的值
+     */
+    public static <T> List<T> extract(InputStream inputStream, String path, Class<T> clazz) {
+        return ENGINE.extract(inputStream, path, clazz);
+    }
+
+    /**
+     * 按JSON路径从字符串中提取值并绑定为指定类型
+     *
+     * @param jsonString JSON字符串
+     * @param path       JSON路径
+     * @param clazz      值类型
+     * @return 命中的值，字符串为空时返回空列表
+     */
+    public static <T> List<T> extract(String jsonString, String path, Class<T> clazz) {
+        return ENGINE.extract(jsonString, path, clazz);
+    }
+
+    /**
+     * 获取类型的编解码器，按类缓存
+     *
+     * @param clazz 类型
+     * @return 编解码器
+     */
+    public static <T> JsonCodec<T> codec(Class<T> clazz) {
+        return ENGINE.codec(clazz);
+    }
+
+    /**
+     * 获取类型在指定格式下的编解码器，按类缓存
+     *
+     * @param clazz  类型
+     * @param format 格式
+     * @return 编解码器
+     */
+    public static <T> JsonCodec<T> codec(Class<T> clazz, DataFormat format) {
+        return getEngine(format).codec(clazz);
+    }
+
+    /**
+     * 获取 {@code List<T>} 的编解码器，按元素类缓存
+     *
+     * @param elementClass 元素类型
+     * @return 编解码器
+     */
+    public static <T> JsonCodec<List<T>> listCodec(Class<T> elementClass) {
+        return ENGINE.listCodec(elementClass);
+    }
+
+    /**
+     * 获取泛型类型的编解码器，如 {@code new TypeReference<Map<String, List<User>>>() {}}
+     *
+     * @param typeReference 类型引用
+     * @return 编解码器
+     */
+    public static <T> JsonCodec<T> codec(TypeReference<T> typeReference) {
+        return ENGINE.codec(typeReference);
+    }
+
+    /**
+     * 获取JavaType的编解码器，按JavaType缓存
+     *
+     * @param javaType 类型
+     * @return 编解码器
+     */
+    public static <T> JsonCodec<T> codec(JavaType javaType) {
+        return ENGINE.codec(javaType);
     }
 
+    /**
+     * 获取JavaType在指定格式下的编解码器，按JavaType缓存
+     *
+     * @param javaType 类型
+     * @param format   格式
+     * @return 编解码器
+     */
+    public static <T> JsonCodec<T> codec(JavaType javaType, DataFormat format) {
+        return getEngine(format).codec(javaType);
+    }
+
+    /**
+     * 流式读取JSON数组或NDJSON（每行一个JSON值）
+     * <p>
+     * 每次只解析一个元素，内存占用与文档大小无关。根节点是数组时逐个返回数组元素，
+     * 否则依次返回以空白分隔的各个根值。迭代结束后需要关闭，关闭时同时关闭输入流
+     *
+     * @param inputStream 输入流
+     * @param clazz       元素类型
+     * @return 可关闭的迭代器
+     */
+    public static <T> MappingIterator<T> iteratorFromJson(InputStream inputStream, Class<T> clazz) {
+        return ENGINE.iteratorFromJson(inputStream, clazz);
+    }
+
+    /**
+     * 流式读取JSON数组或NDJSON，见 {@link #iteratorFromJson(InputStream, Class)}
+     * <p>
+     * 返回的Stream需要在使用后关闭（如try-with-resources），关闭时同时关闭输入流
+     *
+     * @param inputStream 输入流
+     * @param clazz       元素类型
+     * @return 元素流
+     */
+    public static <T> Stream<T> streamFromJson(InputStream inputStream, Class<T> clazz) {
+        return ENGINE.streamFromJson(inputStream, clazz);
+    }
+
+    /**
+     * 流式读取文件中的JSON数组或NDJSON
+     *
+     * @param path  文件路径
+     * @param clazz 元素类型
+     * @return 元素流，需要在使用后关闭
+     */
+    public static <T> Stream<T> streamFromJson(Path path, Class<T> clazz) {
+        return ENGINE.streamFromJson(path, clazz);
+    }
+
+    /**
+     * 将元素流逐个序列化为JSON数组写入输出流，不会在内存中拼接整个文档
+     * <p>
+     * 写完后flush，但不关闭输出流
+     *
+     * @param stream       元素流
+     * @param outputStream 输出流
+     * @return 写入的元素个数
+     */
+    public static long writeJsonArray(Stream<?> stream, OutputStream outputStream) {
+        return ENGINE.writeJsonArray(stream, outputStream);
+    }
+
+    /**
+     * 将元素流逐个序列化为NDJSON（每行一个JSON值）写入输出流
+     * <p>
+     * 写完后flush，但不关闭输出流
+     *
+     * @param stream       元素流
+     * @param outputStream 输出流
+     * @return 写入的元素个数
+     */
+    public static long writeNdjson(Stream<?> stream, OutputStream outputStream) {
+        return ENGINE.writeNdjson(stream, outputStream);
+    }
+
+    /**
+     * 默认引擎使用的ObjectMapper的副本
+     * <p>
+     * 副本在第一次调用时创建，之后每次返回同一个实例。副本与默认引擎分离，
+     * 在其上注册模块或修改配置不会影响JSONUtils的行为
+     *
+     * @deprecated 保留实例方法以兼容已编译的调用方，需要不同配置时请使用 {@link JsonEngine#builder()}
+     */
+    @Deprecated
     public ObjectMapper getObjectMapper() {
-        return OBJECT_MAPPER;
+        return DetachedMapper.MAPPER;
     }
 }
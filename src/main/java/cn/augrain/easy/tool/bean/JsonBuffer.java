@@ -0,0 +1,112 @@
+package cn.augrain.easy.tool.bean;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 可重复使用的序列化缓冲区
+ * <p>
+ * 序列化结果直接写入内部byte数组，{@link #reset()} 后可再次写入，避免每次序列化都分配新数组。
+ * 非线程安全，{@link #local()} 为每个线程提供一个实例
+ *
+ * @author biaoy
+ * @since 2025/07/25
+ */
+public final class JsonBuffer extends OutputStream {
+
+    private static final int DEFAULT_CAPACITY = 4096;
+
+    // 线程缓冲区超过该大小后不再保留，避免偶发的大对象长期占用内存
+    private static final int MAX_RETAINED_CAPACITY = 1 << 20;
+
+    private static final ThreadLocal<JsonBuffer> LOCAL = ThreadLocal.withInitial(JsonBuffer::new);
+
+    private byte[] buf;
+
+    private int count;
+
+    public JsonBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public JsonBuffer(int capacity) {
+        this.buf = new byte[capacity];
+    }
+
+    /**
+     * 获取当前线程的缓冲区，已清空
+     * <p>
+     * 同一线程下次调用时会被覆盖，内容需要在此之前使用完毕
+     *
+     * @return 缓冲区
+     */
+    public static JsonBuffer local() {
+        JsonBuffer buffer = LOCAL.get();
+        if (buffer.buf.length > MAX_RETAINED_CAPACITY) {
+            buffer = new JsonBuffer();
+            LOCAL.set(buffer);
+        }
+        buffer.reset();
+        return buffer;
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(count + 1);
+        buf[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        ensureCapacity(count + len);
+        System.arraycopy(b, off, buf, count, len);
+        count += len;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length << 1, minCapacity));
+        }
+    }
+
+    /**
+     * 清空内容，保留已分配的数组
+     */
+    public void reset() {
+        count = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * 内部数组，有效内容为 [0, size())
+     */
+    public byte[] array() {
+        return buf;
+    }
+
+    /**
+     * 包装内部数组的ByteBuffer，不复制，缓冲区再次写入后失效
+     */
+    public ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(buf, 0, count);
+    }
+
+    /**
+     * 复制出内容
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, count);
+    }
+
+    /**
+     * 将内容写入输出流
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buf, 0, count);
+    }
+}
@@ -0,0 +1,178 @@
+package cn.augrain.easy.tool.bean;
+
+import cn.augrain.easy.tool.core.StringUtils;
+import cn.augrain.easy.tool.exception.UtilsRuntimeException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * 绑定到具体类型的JSON编解码器
+ * <p>
+ * 持有预先构建好的 {@link ObjectReader}/{@link ObjectWriter}，每次调用不再解析类型、查找配置，
+ * 适合在热点路径上作为常量保存：
+ * <pre>
+ * private static final JsonCodec&lt;List&lt;User&gt;&gt; USERS = JSONUtils.listCodec(User.class);
+ * </pre>
+ * 通过 {@link JSONUtils#codec(Class, DataFormat)} 可以获取Smile/CBOR等二进制格式的编解码器，
+ * 二进制格式只支持字节和流相关的方法。
+ * 序列化按声明类型进行，子类中多出的属性不会输出。
+ * 实例不可变，线程安全。出错时与 {@link JSONUtils} 一致，记录日志并返回null
+ *
+ * @author biaoy
+ * @since 2025/07/24
+ */
+@Slf4j
+public final class JsonCodec<T> {
+
+    private final DataFormat format;
+
+    private final JavaType type;
+
+    private final ObjectReader reader;
+
+    private final ObjectWriter writer;
+
+    private final ObjectWriter streamWriter;
+
+    JsonCodec(ObjectMapper objectMapper, DataFormat format, JavaType type) {
+        this.format = format;
+        this.type = type;
+        this.reader = objectMapper.readerFor(type);
+        this.writer = objectMapper.writerFor(type);
+        this.streamWriter = writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    public DataFormat getFormat() {
+        return format;
+    }
+
+    public JavaType getType() {
+        return type;
+    }
+
+    public ObjectReader getReader() {
+        return reader;
+    }
+
+    public ObjectWriter getWriter() {
+        return writer;
+    }
+
+    /**
+     * 序列化
+     *
+     * @param value 对象
+     * @return JSON字符串
+     */
+    public String toJson(T value) {
+        checkText();
+        try {
+            return writer.writeValueAsString(value);
+        } catch (IOException e) {
+            log.error("serialize {} error", type, e);
+            return null;
+        }
+    }
+
+    /**
+     * 序列化为UTF-8字节
+     *
+     * @param value 对象
+     * @return 字节数组
+     */
+    public byte[] toBytes(T value) {
+        try {
+            return writer.writeValueAsBytes(value);
+        } catch (IOException e) {
+            log.error("serialize {} error", type, e);
+            return null;
+        }
+    }
+
+    /**
+     * 序列化并写入输出流，不关闭输出流
+     *
+     * @param value        对象
+     * @param outputStream 输出流
+     */
+    public void writeTo(T value, OutputStream outputStream) {
+        try {
+            streamWriter.writeValue(outputStream, value);
+        } catch (IOException e) {
+            throw new UtilsRuntimeException(e);
+        }
+    }
+
+    /**
+     * 反序列化，字符串为空时返回null
+     *
+     * @param jsonString JSON字符串
+     * @return 对象
+     */
+    public T fromJson(String jsonString) {
+        checkText();
+        if (StringUtils.isEmpty(jsonString)) {
+            return null;
+        }
+        try {
+            return reader.readValue(jsonString);
+        } catch (IOException e) {
+            log.error("deserialize {} error, jsonString : {}", type, jsonString, e);
+            return null;
+        }
+    }
+
+    /**
+     * 从输入流反序列化
+     *
+     * @param inputStream 输入流
+     * @return 对象
+     */
+    public T fromJson(InputStream inputStream) {
+        try {
+            return reader.readValue(inputStream);
+        } catch (IOException e) {
+            log.error("deserialize {} error", type, e);
+            return null;
+        }
+    }
+
+    /**
+     * 从字节数组的指定区间反序列化
+     *
+     * @param bytes  字节数组
+     * @param offset 起始位置
+     * @param length 长度
+     * @return 对象
+     */
+    public T fromBytes(byte[] bytes, int offset, int length) {
+        if (bytes == null || length == 0) {
+            return null;
+        }
+        try {
+            return reader.readValue(bytes, offset, length);
+        } catch (IOException e) {
+            log.error("deserialize {} error", type, e);
+            return null;
+        }
+    }
+
+    private void checkText() {
+        if (format.isBinary()) {
+            throw new UnsupportedOperationException(format + " codec only supports bytes and streams");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "JsonCodec{" + format + ", " + type + '}';
+    }
+}
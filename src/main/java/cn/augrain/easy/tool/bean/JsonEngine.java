@@ -0,0 +1,627 @@
+package cn.augrain.easy.tool.bean;
+
+import cn.augrain.easy.tool.core.StringUtils;
+import cn.augrain.easy.tool.exception.UtilsRuntimeException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * JSON引擎
+ * <p>
+ * 每个引擎持有独立配置的ObjectMapper及预先构建的reader/writer，构建后不可修改，线程安全。
+ * 需要不同配置（宽松/严格、二进制格式、afterburner/blackbird加速）时各自构建一个引擎，不影响全局：
+ * <pre>
+ * JsonEngine strict = JsonEngine.builder()
+ *         .lenient(false)
+ *         .accelerator(JsonEngine.Accelerator.AUTO)
+ *         .preload(User.class)
+ *         .build();
+ * </pre>
+ * {@link JSONUtils} 的静态方法委托给默认引擎。出错时的处理与JSONUtils一致：
+ * 反序列化和转字符串/字节记录日志并返回null，写入流和流式读取抛出 {@link UtilsRuntimeException}
+ *
+ * @author biaoy
+ * @since 2025/07/29
+ */
+@Slf4j
+public final class JsonEngine {
+
+    /**
+     * 序列化加速模块，对应的jackson模块需要在classpath中，否则忽略
+     */
+    public enum Accelerator {
+        /**
+         * 不使用
+         */
+        NONE,
+        /**
+         * jackson-module-afterburner
+         */
+        AFTERBURNER,
+        /**
+         * jackson-module-blackbird
+         */
+        BLACKBIRD,
+        /**
+         * 依次尝试blackbird、afterburner
+         */
+        AUTO
+    }
+
+    private static final String AFTERBURNER_MODULE = "com.fasterxml.jackson.module.afterburner.AfterburnerModule";
+
+    private static final String BLACKBIRD_MODULE = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+
+    private final DataFormat format;
+
+    private final boolean lenient;
+
+    private final ObjectMapper objectMapper;
+
+    // 不指定类型的writer，按运行时类型序列化
+    private final ObjectWriter writer;
+
+    // 写入调用方的输出流时不关闭输出流
+    private final ObjectWriter streamWriter;
+
+    // 逐个写入时不需要每个元素都flush
+    private final ObjectWriter sequenceWriter;
+
+    private final ClassValue<JsonCodec<?>> codecs = new ClassValue<JsonCodec<?>>() {
+        @Override
+        protected JsonCodec<?> computeValue(Class<?> type) {
+            return new JsonCodec<>(objectMapper, format, objectMapper.constructType(type));
+        }
+    };
+
+    private final ClassValue<JsonCodec<?>> listCodecs = new ClassValue<JsonCodec<?>>() {
+        @Override
+        protected JsonCodec<?> computeValue(Class<?> type) {
+            return new JsonCodec<>(objectMapper, format,
+                    objectMapper.getTypeFactory().constructCollectionType(List.class, type));
+        }
+    };
+
+    // 泛型类型的编解码器
+    private final Map<JavaType, JsonCodec<?>> typeCodecs = new ConcurrentHashMap<>();
+
+    private JsonEngine(Builder builder) {
+        this.format = builder.format;
+        this.lenient = builder.lenient;
+        this.objectMapper = newObjectMapper(builder);
+        this.writer = objectMapper.writer();
+        this.streamWriter = writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.sequenceWriter = writer.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        for (Class<?> type : builder.preloadTypes) {
+            codec(type);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private static ObjectMapper newObjectMapper(Builder builder) {
+        JsonFactory jsonFactory;
+        switch (builder.format) {
+            case SMILE:
+                jsonFactory = new SmileFactory();
+                break;
+            case CBOR:
+                jsonFactory = new CBORFactory();
+                break;
+            default:
+                jsonFactory = new JsonFactory();
+        }
+        ObjectMapper objectMapper = new ObjectMapper(jsonFactory);
+        boolean lenient = builder.lenient;
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, !lenient); // 宽松模式忽略未知属性，而不返回失败
+        objectMapper.configure(JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES, lenient); // 允许非标准的json格式：json字段名称可以不使用"包裹
+        objectMapper.configure(JsonParser.Feature.ALLOW_SINGLE_QUOTES, lenient); // 允许非标准的json格式：json字段名称和字段值可以使用'包裹
+        objectMapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        objectMapper.registerModule(new SimpleModule()
+                .addDeserializer(LocalDateTime.class, LocalDateTimeCodec.DESERIALIZER)
+                .addSerializer(LocalDateTime.class, LocalDateTimeCodec.SERIALIZER)
+        );
+        Module accelerator = loadAccelerator(builder.accelerator);
+        if (accelerator != null) {
+            objectMapper.registerModule(accelerator);
+        }
+        for (Module module : builder.modules) {
+            objectMapper.registerModule(module);
+        }
+        return objectMapper;
+    }
+
+    private static Module loadAccelerator(Accelerator accelerator) {
+        switch (accelerator) {
+            case AFTERBURNER:
+                return loadModule(AFTERBURNER_MODULE, true);
+            case BLACKBIRD:
+                return loadModule(BLACKBIRD_MODULE, true);
+            case AUTO:
+                Module module = loadModule(BLACKBIRD_MODULE, false);
+                return module != null ? module : loadModule(AFTERBURNER_MODULE, false);
+            default:
+                return null;
+        }
+    }
+
+    private static Module loadModule(String className, boolean warn) {
+        try {
+            return (Module) Class.forName(className).getConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            if (warn) {
+                log.warn("jackson module {} is not available, ignored", className);
+            }
+            return null;
+        }
+    }
+
+    public DataFormat getFormat() {
+        return format;
+    }
+
+    public boolean isLenient() {
+        return lenient;
+    }
+
+    /**
+     * 不指定类型的reader
+     */
+    public ObjectReader getReader() {
+        return objectMapper.reader();
+    }
+
+    /**
+     * 不指定类型的writer
+     */
+    public ObjectWriter getWriter() {
+        return writer;
+    }
+
+    /**
+     * 引擎内部的ObjectMapper，不应修改其配置
+     */
+    ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * 获取类型的编解码器，按类缓存
+     *
+     * @param clazz 类型
+     * @return 编解码器
+     */
+    @SuppressWarnings("unchecked")
+    public <T> JsonCodec<T> codec(Class<T> clazz) {
+        return (JsonCodec<T>) codecs.get(clazz);
+    }
+
+    /**
+     * 获取 {@code List<T>} 的编解码器，按元素类缓存
+     *
+     * @param elementClass 元素类型
+     * @return 编解码器
+     */
+    @SuppressWarnings("unchecked")
+    public <T> JsonCodec<List<T>> listCodec(Class<T> elementClass) {
+        return (JsonCodec<List<T>>) listCodecs.get(elementClass);
+    }
+
+    /**
+     * 获取泛型类型的编解码器，如 {@code new TypeReference<Map<String, List<User>>>() {}}
+     *
+     * @param typeReference 类型引用
+     * @return 编解码器
+     */
+    public <T> JsonCodec<T> codec(TypeReference<T> typeReference) {
+        return codec(objectMapper.getTypeFactory().constructType(typeReference));
+    }
+
+    /**
+     * 获取JavaType的编解码器，按JavaType缓存
+     *
+     * @param javaType 类型
+     * @return 编解码器
+     */
+    @SuppressWarnings("unchecked")
+    public <T> JsonCodec<T> codec(JavaType javaType) {
+        JsonCodec<?> codec = typeCodecs.get(javaType);
+        if (codec == null) {
+            codec = typeCodecs.computeIfAbsent(javaType, type -> new JsonCodec<>(objectMapper, format, type));
+        }
+        return (JsonCodec<T>) codec;
+    }
+
+    /**
+     * 序列化为字符串，只支持JSON格式
+     *
+     * @param object 对象
+     * @return JSON字符串，出错时返回null
+     */
+    public String toJson(Object object) {
+        checkText();
+        try {
+            return writer.writeValueAsString(object);
+        } catch (IOException e) {
+            log.error("method toJson happen err : {}, object : {}", e, object);
+            return null;
+        }
+    }
+
+    /**
+     * 序列化为字节，JSON格式为UTF-8编码，不经过中间String
+     *
+     * @param object 对象
+     * @return 字节数组，出错时返回null
+     */
+    public byte[] toBytes(Object object) {
+        try {
+            return writer.writeValueAsBytes(object);
+        } catch (IOException e) {
+            log.error("method toBytes happen err, format : {}", format, e);
+            return null;
+        }
+    }
+
+    /**
+     * 序列化并直接写入输出流，写完后不关闭输出流
+     *
+     * @param object       对象
+     * @param outputStream 输出流
+     */
+    public void writeTo(Object object, OutputStream outputStream) {
+        try {
+            streamWriter.writeValue(outputStream, object);
+        } catch (IOException e) {
+            throw new UtilsRuntimeException(e);
+        }
+    }
+
+    /**
+     * 序列化到当前线程可复用的缓冲区，见 {@link JsonBuffer#local()}
+     *
+     * @param object 对象
+     * @return 缓冲区，同一线程下次调用前有效
+     */
+    public JsonBuffer toBuffer(Object object) {
+        JsonBuffer buffer = JsonBuffer.local();
+        writeTo(object, buffer);
+        return buffer;
+    }
+
+    /**
+     * 反序列化，只支持JSON格式
+     *
+     * @param jsonString JSON字符串
+     * @param clazz      类型
+     * @return 对象，字符串为空或出错时返回null
+     */
+    public <T> T fromJson(String jsonString, Class<T> clazz) {
+        return codec(clazz).fromJson(jsonString);
+    }
+
+    /**
+     * 从输入流反序列化
+     *
+     * @param inputStream 输入流
+     * @param clazz       类型
+     * @return 对象，出错时返回null
+     */
+    public <T> T fromJson(InputStream inputStream, Class<T> clazz) {
+        return codec(clazz).fromJson(inputStream);
+    }
+
+    /**
+     * 解析集合，只支持JSON格式
+     *
+     * @param jsonString JSON字符串
+     * @param clazz      元素类型
+     * @return 集合，字符串为空或出错时返回null
+     */
+    public <T> List<T> listFromJson(String jsonString, Class<T> clazz) {
+        return listCodec(clazz).fromJson(jsonString);
+    }
+
+    /**
+     * 从字节数组反序列化
+     *
+     * @param bytes 字节数组
+     * @param clazz 类型
+     * @return 对象，bytes为空或出错时返回null
+     */
+    public <T> T fromBytes(byte[] bytes, Class<T> clazz) {
+        return bytes == null ? null : fromBytes(bytes, 0, bytes.length, clazz);
+    }
+
+    /**
+     * 从字节数组的指定区间反序列化，不复制数组
+     *
+     * @param bytes  字节数组
+     * @param offset 起始位置
+     * @param length 长度
+     * @param clazz  类型
+     * @return 对象，出错时返回null
+     */
+    public <T> T fromBytes(byte[] bytes, int offset, int length, Class<T> clazz) {
+        return codec(clazz).fromBytes(bytes, offset, length);
+    }
+
+    /**
+     * 从ByteBuffer的剩余内容反序列化，不改变buffer的position
+     * <p>
+     * 堆内buffer直接读取其数组，直接内存buffer按流读取，均不复制内容
+     *
+     * @param buffer buffer
+     * @param clazz  类型
+     * @return 对象，出错时返回null
+     */
+    public <T> T fromByteBuffer(ByteBuffer buffer, Class<T> clazz) {
+        if (buffer == null || !buffer.hasRemaining()) {
+            return null;
+        }
+        if (buffer.hasArray()) {
+            return fromBytes(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), clazz);
+        }
+        return codec(clazz).fromJson(new ByteBufferBackedInputStream(buffer.duplicate()));
+    }
+
+    /**
+     * 按JSON路径提取值并绑定为指定类型
+     * <p>
+     * 基于token流读取，跳过不需要的子树，不绑定整个文档。读取完毕后关闭输入流
+     *
+     * @param inputStream 输入流
+     * @param path        JSON路径，语法见 {@link JsonPathExtractor}
+     * @param clazz       值类型
+     * @return 命中的值
+     */
+    public <T> List<T> extract(InputStream inputStream, String path, Class<T> clazz) {
+        JsonPathExtractor extractor = JsonPathExtractor.compile(path);
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            return extractor.extract(parser, codec(clazz).getReader());
+        } catch (IOException e) {
+            throw new UtilsRuntimeException(e);
+        }
+    }
+
+    /**
+     * 按JSON路径从字符串中提取值并绑定为指定类型，只支持JSON格式
+     *
+     * @param jsonString JSON字符串
+     * @param path       JSON路径
+     * @param clazz      值类型
+     * @return 命中的值，字符串为空时返回空列表
+     */
+    public <T> List<T> extract(String jsonString, String path, Class<T> clazz) {
+        checkText();
+        JsonPathExtractor extractor = JsonPathExtractor.compile(path);
+        if (StringUtils.isEmpty(jsonString)) {
+            return new ArrayList<>(0);
+        }
+        try (JsonParser parser = objectMapper.getFactory().createParser(jsonString)) {
+            return extractor.extract(parser, codec(clazz).getReader());
+        } catch (IOException e) {
+            throw new UtilsRuntimeException(e);
+        }
+    }
+
+    /**
+     * 流式读取数组或以空白分隔的多个根值（NDJSON）
+     * <p>
+     * 每次只解析一个元素，内存占用与文档大小无关。根节点是数组时逐个返回数组元素，
+     * 否则依次返回各个根值。迭代结束后需要关闭，关闭时同时关闭输入流
+     *
+     * @param inputStream 输入流
+     * @param clazz       元素类型
+     * @return 可关闭的迭代器
+     */
+    public <T> MappingIterator<T> iteratorFromJson(InputStream inputStream, Class<T> clazz) {
+        try {
+            return codec(clazz).getReader().readValues(inputStream);
+        } catch (IOException e) {
+            throw new UtilsRuntimeException(e);
+        }
+    }
+
+    /**
+     * 流式读取，见 {@link #iteratorFromJson(InputStream, Class)}
+     * <p>
+     * 返回的Stream需要在使用后关闭（如try-with-resources），关闭时同时关闭输入流
+     *
+     * @param inputStream 输入流
+     * @param clazz       元素类型
+     * @return 元素流
+     */
+    public <T> Stream<T> streamFromJson(InputStream inputStream, Class<T> clazz) {
+        MappingIterator<T> iterator = iteratorFromJson(inputStream, clazz);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(() -> closeQuietly(iterator));
+    }
+
+    /**
+     * 流式读取文件
+     *
+     * @param path  文件路径
+     * @param clazz 元素类型
+     * @return 元素流，需要在使用后关闭
+     */
+    public <T> Stream<T> streamFromJson(Path path, Class<T> clazz) {
+        try {
+            return streamFromJson(Files.newInputStream(path), clazz);
+        } catch (IOException e) {
+            throw new UtilsRuntimeException(e);
+        }
+    }
+
+    /**
+     * 将元素流逐个序列化为数组写入输出流，不会在内存中拼接整个文档
+     * <p>
+     * 写完后flush，但不关闭输出流
+     *
+     * @param stream       元素流
+     * @param outputStream 输出流
+     * @return 写入的元素个数
+     */
+    public long writeJsonArray(Stream<?> stream, OutputStream outputStream) {
+        return writeSequence(stream, outputStream, true);
+    }
+
+    /**
+     * 将元素流逐个序列化为多个根值写入输出流，JSON格式下每行一个值（NDJSON）
+     * <p>
+     * 写完后flush，但不关闭输出流
+     *
+     * @param stream       元素流
+     * @param outputStream 输出流
+     * @return 写入的元素个数
+     */
+    public long writeNdjson(Stream<?> stream, OutputStream outputStream) {
+        return writeSequence(stream, outputStream, false);
+    }
+
+    private long writeSequence(Stream<?> stream, OutputStream outputStream, boolean array) {
+        boolean newline = !array && !format.isBinary();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            if (array) {
+                generator.writeStartArray();
+            }
+            long count = 0;
+            Iterator<?> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                sequenceWriter.writeValue(generator, iterator.next());
+                if (newline) {
+                    generator.writeRaw('\n');
+                }
+                count++;
+            }
+            if (array) {
+                generator.writeEndArray();
+            }
+            generator.flush();
+            return count;
+        } catch (IOException e) {
+            throw new UtilsRuntimeException(e);
+        }
+    }
+
+    private void checkText() {
+        if (format.isBinary()) {
+            throw new UnsupportedOperationException(format + " engine only supports bytes and streams");
+        }
+    }
+
+    private static void closeQuietly(MappingIterator<?> iterator) {
+        try {
+            iterator.close();
+        } catch (IOException e) {
+            log.warn("close json iterator error", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "JsonEngine{format=" + format + ", lenient=" + lenient + '}';
+    }
+
+    /**
+     * 引擎构建器
+     */
+    public static final class Builder {
+
+        private DataFormat format = DataFormat.JSON;
+
+        private boolean lenient = true;
+
+        private Accelerator accelerator = Accelerator.NONE;
+
+        private final List<Module> modules = new ArrayList<>();
+
+        private final List<Class<?>> preloadTypes = new ArrayList<>();
+
+        private Builder() {
+
+        }
+
+        /**
+         * 序列化格式，默认JSON
+         */
+        public Builder format(DataFormat format) {
+            this.format = format;
+            return this;
+        }
+
+        /**
+         * 是否宽松解析，默认true：忽略未知属性，允许字段名不加引号及使用单引号。
+         * false时遇到未知属性和非标准JSON会解析失败
+         */
+        public Builder lenient(boolean lenient) {
+            this.lenient = lenient;
+            return this;
+        }
+
+        /**
+         * 加速模块，默认不使用
+         */
+        public Builder accelerator(Accelerator accelerator) {
+            this.accelerator = accelerator;
+            return this;
+        }
+
+        /**
+         * 额外注册的jackson模块
+         */
+        public Builder module(Module module) {
+            this.modules.add(module);
+            return this;
+        }
+
+        /**
+         * 构建时预先创建这些类型的reader/writer
+         */
+        public Builder preload(Class<?>... types) {
+            this.preloadTypes.addAll(Arrays.asList(types));
+            return this;
+        }
+
+        public JsonEngine build() {
+            return new JsonEngine(this);
+        }
+    }
+}
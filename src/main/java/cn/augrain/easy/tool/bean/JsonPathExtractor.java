@@ -0,0 +1,194 @@
+package cn.augrain.easy.tool.bean;
+
+import cn.augrain.easy.tool.exception.UtilsRuntimeException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于token流的JSON路径提取
+ * <p>
+ * 只在命中路径的位置绑定值，其余子树直接跳过，不构建完整对象或JsonNode树。
+ * 支持的路径语法：
+ * <ul>
+ *     <li>{@code $} 根节点</li>
+ *     <li>{@code .name} 或 {@code ['name']} 对象字段</li>
+ *     <li>{@code [n]} 数组下标</li>
+ *     <li>{@code [*]} 或 {@code .*} 数组所有元素或对象所有字段</li>
+ * </ul>
+ * 路径不含通配符时，命中第一个值后立即停止读取
+ *
+ * @author biaoy
+ * @since 2025/07/27
+ */
+final class JsonPathExtractor {
+
+    private static final Map<String, JsonPathExtractor> COMPILED = new ConcurrentHashMap<>();
+
+    private static final int MAX_COMPILED = 1024;
+
+    private final String path;
+
+    // 字段名，下标时为null
+    private final String[] names;
+
+    // 数组下标，-1表示通配
+    private final int[] indexes;
+
+    private final boolean definite;
+
+    private JsonPathExtractor(String path, String[] names, int[] indexes) {
+        this.path = path;
+        this.names = names;
+        this.indexes = indexes;
+        boolean wildcard = false;
+        for (int i = 0; i < names.length; i++) {
+            wildcard |= names[i] == null && indexes[i] < 0;
+        }
+        this.definite = !wildcard;
+    }
+
+    /**
+     * 编译路径，结果缓存
+     *
+     * @param path JSON路径
+     * @return 提取器
+     */
+    static JsonPathExtractor compile(String path) {
+        JsonPathExtractor extractor = COMPILED.get(path);
+        if (extractor == null) {
+            extractor = parse(path);
+            if (COMPILED.size() < MAX_COMPILED) {
+                COMPILED.putIfAbsent(path, extractor);
+            }
+        }
+        return extractor;
+    }
+
+    private static JsonPathExtractor parse(String path) {
+        if (path == null || !path.startsWith("$")) {
+            throw new UtilsRuntimeException("invalid json path: " + path);
+        }
+        List<String> names = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        int i = 1;
+        int length = path.length();
+        while (i < length) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                int end = i + 1;
+                while (end < length && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+                String name = path.substring(i + 1, end);
+                if (name.isEmpty()) {
+                    throw new UtilsRuntimeException("invalid json path: " + path);
+                }
+                names.add("*".equals(name) ? null : name);
+                indexes.add(-1);
+                i = end;
+            } else if (c == '[') {
+                int end = path.indexOf(']', i);
+                if (end < 0) {
+                    throw new UtilsRuntimeException("invalid json path: " + path);
+                }
+                String token = path.substring(i + 1, end).trim();
+                if ("*".equals(token)) {
+                    names.add(null);
+                    indexes.add(-1);
+                } else if (token.length() >= 2 && (token.charAt(0) == '\'' || token.charAt(0) == '"')) {
+                    names.add(token.substring(1, token.length() - 1));
+                    indexes.add(-1);
+                } else {
+                    try {
+                        int index = Integer.parseInt(token);
+                        if (index < 0) {
+                            throw new UtilsRuntimeException("invalid json path: " + path);
+                        }
+                        names.add(null);
+                        indexes.add(index);
+                    } catch (NumberFormatException e) {
+                        throw new UtilsRuntimeException("invalid json path: " + path);
+                    }
+                }
+                i = end + 1;
+            } else {
+                throw new UtilsRuntimeException("invalid json path: " + path);
+            }
+        }
+        int[] indexArray = new int[indexes.size()];
+        for (int j = 0; j < indexArray.length; j++) {
+            indexArray[j] = indexes.get(j);
+        }
+        return new JsonPathExtractor(path, names.toArray(new String[0]), indexArray);
+    }
+
+    /**
+     * 从解析器中提取所有命中的值
+     *
+     * @param parser 未开始读取的解析器
+     * @param reader 命中值的reader
+     * @return 命中的值，按文档顺序排列
+     */
+    <T> List<T> extract(JsonParser parser, ObjectReader reader) throws IOException {
+        List<T> values = new ArrayList<>();
+        if (parser.nextToken() != null) {
+            match(parser, 0, reader, values);
+        }
+        return values;
+    }
+
+    /**
+     * 匹配当前值，返回是否可以停止读取
+     */
+    private <T> boolean match(JsonParser parser, int depth, ObjectReader reader, List<T> values) throws IOException {
+        if (depth == names.length) {
+            values.add(reader.readValue(parser));
+            return definite;
+        }
+        JsonToken token = parser.currentToken();
+        String name = names[depth];
+        int index = indexes[depth];
+        if (token == JsonToken.START_OBJECT && index < 0) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                parser.nextToken();
+                if (name == null || name.equals(fieldName)) {
+                    if (match(parser, depth + 1, reader, values)) {
+                        return true;
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return false;
+        }
+        if (token == JsonToken.START_ARRAY && name == null) {
+            int i = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (index < 0 || index == i) {
+                    if (match(parser, depth + 1, reader, values)) {
+                        return true;
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+                i++;
+            }
+            return false;
+        }
+        parser.skipChildren();
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+}
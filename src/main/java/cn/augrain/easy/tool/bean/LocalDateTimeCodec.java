@@ -0,0 +1,170 @@
+package cn.augrain.easy.tool.bean;
+
+import cn.augrain.easy.tool.time.LocalDateTimeUtils;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+
+/**
+ * yyyy-MM-dd HH:mm:ss 格式的LocalDateTime快速编解码
+ * <p>
+ * 固定格式下逐字符读写，不创建DateTimeFormatter，序列化时不产生中间String。
+ * 年份超出0001-9999（yyyy是纪元年，公元前的年份不能逐位写出）或输入不是标准格式时，交给 {@link LocalDateTimeUtils} 处理，结果与其保持一致
+ *
+ * @author biaoy
+ * @since 2025/07/26
+ */
+final class LocalDateTimeCodec {
+
+    static final int LENGTH = 19;
+
+    static final JsonSerializer<LocalDateTime> SERIALIZER = new Serializer();
+
+    static final JsonDeserializer<LocalDateTime> DESERIALIZER = new Deserializer();
+
+    private LocalDateTimeCodec() {
+
+    }
+
+    /**
+     * 格式化
+     *
+     * @param dateTime 时间
+     * @return yyyy-MM-dd HH:mm:ss
+     */
+    static String format(LocalDateTime dateTime) {
+        int year = dateTime.getYear();
+        if (year < 1 || year > 9999) {
+            return LocalDateTimeUtils.format(dateTime, LocalDateTimeUtils.NORM_DATETIME_PATTERN);
+        }
+        char[] buf = new char[LENGTH];
+        write(dateTime, buf);
+        return new String(buf);
+    }
+
+    /**
+     * 写入19个字符，调用方需确保年份在0001-9999之间
+     */
+    static void write(LocalDateTime dateTime, char[] buf) {
+        int year = dateTime.getYear();
+        buf[0] = (char) ('0' + year / 1000);
+        buf[1] = (char) ('0' + year / 100 % 10);
+        buf[2] = (char) ('0' + year / 10 % 10);
+        buf[3] = (char) ('0' + year % 10);
+        buf[4] = '-';
+        write2(buf, 5, dateTime.getMonthValue());
+        buf[7] = '-';
+        write2(buf, 8, dateTime.getDayOfMonth());
+        buf[10] = ' ';
+        write2(buf, 11, dateTime.getHour());
+        buf[13] = ':';
+        write2(buf, 14, dateTime.getMinute());
+        buf[16] = ':';
+        write2(buf, 17, dateTime.getSecond());
+    }
+
+    private static void write2(char[] buf, int offset, int value) {
+        buf[offset] = (char) ('0' + value / 10);
+        buf[offset + 1] = (char) ('0' + value % 10);
+    }
+
+    /**
+     * 解析
+     *
+     * @param text 文本
+     * @return 时间
+     */
+    static LocalDateTime parse(String text) {
+        LocalDateTime dateTime = text.length() == LENGTH ? parse(text.toCharArray(), 0, LENGTH) : null;
+        return dateTime != null ? dateTime : LocalDateTimeUtils.parse(text);
+    }
+
+    /**
+     * 按固定格式解析，格式不符或日期无效时返回null
+     */
+    static LocalDateTime parse(char[] buf, int offset, int length) {
+        if (length != LENGTH || buf[offset + 4] != '-' || buf[offset + 7] != '-' || buf[offset + 10] != ' '
+                || buf[offset + 13] != ':' || buf[offset + 16] != ':') {
+            return null;
+        }
+        int year = read2(buf, offset);
+        int yearLow = read2(buf, offset + 2);
+        int month = read2(buf, offset + 5);
+        int day = read2(buf, offset + 8);
+        int hour = read2(buf, offset + 11);
+        int minute = read2(buf, offset + 14);
+        int second = read2(buf, offset + 17);
+        // 0000年不是有效的纪元年，交给DateTimeFormatter处理
+        if ((year | yearLow | month | day | hour | minute | second) < 0 || (year | yearLow) == 0) {
+            return null;
+        }
+        try {
+            return LocalDateTime.of(year * 100 + yearLow, month, day, hour, minute, second);
+        } catch (DateTimeException e) {
+            // 如2月30日，交给DateTimeFormatter按其解析规则处理
+            return null;
+        }
+    }
+
+    /**
+     * 读取两位数字，不是数字时返回负数
+     */
+    private static int read2(char[] buf, int offset) {
+        int high = buf[offset] - '0';
+        int low = buf[offset + 1] - '0';
+        if (high < 0 || high > 9 || low < 0 || low > 9) {
+            return -1;
+        }
+        return high * 10 + low;
+    }
+
+    private static final class Serializer extends JsonSerializer<LocalDateTime> {
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            int year = value.getYear();
+            if (year < 1 || year > 9999) {
+                generator.writeString(format(value));
+                return;
+            }
+            char[] buf = new char[LENGTH];
+            write(value, buf);
+            generator.writeString(buf, 0, LENGTH);
+        }
+
+        @Override
+        public Class<LocalDateTime> handledType() {
+            return LocalDateTime.class;
+        }
+    }
+
+    private static final class Deserializer extends JsonDeserializer<LocalDateTime> {
+
+        @Override
+        public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.hasToken(JsonToken.VALUE_STRING)) {
+                // 直接读取解析器的字符缓冲区，不创建String
+                LocalDateTime dateTime = parse(parser.getTextCharacters(), parser.getTextOffset(),
+                        parser.getTextLength());
+                if (dateTime != null) {
+                    return dateTime;
+                }
+            }
+            return LocalDateTimeUtils.parse(parser.getValueAsString());
+        }
+
+        @Override
+        public Class<?> handledType() {
+            return LocalDateTime.class;
+        }
+    }
+}
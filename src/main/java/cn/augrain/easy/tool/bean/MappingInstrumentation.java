@@ -0,0 +1,149 @@
+package cn.augrain.easy.tool.bean;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * bean映射的埋点开关
+ * <p>
+ * 默认关闭，关闭时每次调用只多一次volatile读。开启分配字节统计依赖HotSpot的
+ * {@code com.sun.management.ThreadMXBean}，不支持时上报-1
+ *
+ * @author biaoy
+ * @since 2025/07/22
+ */
+@Slf4j
+public final class MappingInstrumentation {
+
+    private static volatile MappingMetrics metrics;
+
+    private static volatile boolean trackAllocation;
+
+    private static volatile long slowThresholdNanos = Long.MAX_VALUE;
+
+    private MappingInstrumentation() {
+
+    }
+
+    /**
+     * 注册指标实现，传入null关闭埋点
+     *
+     * @param mappingMetrics 指标实现
+     */
+    public static void setMetrics(MappingMetrics mappingMetrics) {
+        metrics = mappingMetrics;
+    }
+
+    public static MappingMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * 是否统计每次调用分配的字节数，开启后每次调用额外有两次线程分配量查询
+     *
+     * @param enabled 是否开启
+     */
+    public static void setTrackAllocation(boolean enabled) {
+        if (enabled && !Allocation.SUPPORTED) {
+            log.warn("thread allocated bytes is not supported by current jvm");
+        }
+        trackAllocation = enabled;
+    }
+
+    /**
+     * 设置慢映射阈值，单次调用耗时超过阈值时输出warn日志，默认不检测
+     *
+     * @param threshold 阈值，小于等于0时关闭检测
+     * @param unit      时间单位
+     */
+    public static void setSlowThreshold(long threshold, TimeUnit unit) {
+        slowThresholdNanos = threshold <= 0 ? Long.MAX_VALUE : unit.toNanos(threshold);
+    }
+
+    /**
+     * 开始一次采样
+     *
+     * @return 采样，未开启埋点时返回null
+     */
+    static Sample start() {
+        MappingMetrics current = metrics;
+        if (current == null) {
+            return null;
+        }
+        return new Sample(current, trackAllocation ? Allocation.currentThreadAllocatedBytes() : -1);
+    }
+
+    /**
+     * 列表映射按第一个非null元素的类型记录源类型
+     */
+    static Class<?> elementClass(List<?> list) {
+        for (Object element : list) {
+            if (element != null) {
+                return element.getClass();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 一次调用的采样
+     */
+    static final class Sample {
+        private final MappingMetrics metrics;
+        private final long startNanos;
+        private final long startBytes;
+
+        private Sample(MappingMetrics metrics, long startBytes) {
+            this.metrics = metrics;
+            this.startBytes = startBytes;
+            this.startNanos = System.nanoTime();
+        }
+
+        void stop(String operation, Class<?> sourceClass, Class<?> targetClass) {
+            long elapsed = System.nanoTime() - startNanos;
+            long allocated = startBytes < 0 ? -1 : Allocation.currentThreadAllocatedBytes() - startBytes;
+            if (elapsed > slowThresholdNanos) {
+                log.warn("slow mapping {} {} -> {} took {}ms", operation,
+                        sourceClass == null ? null : sourceClass.getName(),
+                        targetClass == null ? null : targetClass.getName(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+            }
+            try {
+                metrics.record(operation, sourceClass, targetClass, elapsed, allocated);
+            } catch (RuntimeException e) {
+                log.error("record mapping metrics error ", e);
+            }
+        }
+    }
+
+    /**
+     * 线程分配字节数，非HotSpot虚拟机上不可用
+     */
+    private static final class Allocation {
+        private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = init();
+
+        private static final boolean SUPPORTED = THREAD_MX_BEAN != null;
+
+        private static com.sun.management.ThreadMXBean init() {
+            try {
+                java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+                if (bean instanceof com.sun.management.ThreadMXBean) {
+                    com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) bean;
+                    if (threadMXBean.isThreadAllocatedMemorySupported()) {
+                        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+                        return threadMXBean;
+                    }
+                }
+            } catch (LinkageError | RuntimeException e) {
+                // 不支持
+            }
+            return null;
+        }
+
+        static long currentThreadAllocatedBytes() {
+            return SUPPORTED ? THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+        }
+    }
+}
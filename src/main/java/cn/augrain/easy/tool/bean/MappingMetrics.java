@@ -0,0 +1,25 @@
+package cn.augrain.easy.tool.bean;
+
+/**
+ * bean映射指标SPI
+ * <p>
+ * 通过 {@link MappingInstrumentation#setMetrics(MappingMetrics)} 注册后，
+ * BeanMapper、BeanUtils的复制方法及 {@link BeanMappingHandler} 调用都会上报一次记录。
+ * 实现需要线程安全且尽量轻量，默认实现见 {@link InMemoryMappingMetrics}
+ *
+ * @author biaoy
+ * @since 2025/07/22
+ */
+public interface MappingMetrics {
+
+    /**
+     * 记录一次映射调用
+     *
+     * @param operation      操作名，如 BeanMapper.map、BeanUtils.copyList
+     * @param sourceClass    源类型，源对象为null时为null
+     * @param targetClass    目标类型
+     * @param elapsedNanos   耗时纳秒
+     * @param allocatedBytes 调用线程在本次调用中分配的字节数，不支持统计或未开启时为-1
+     */
+    void record(String operation, Class<?> sourceClass, Class<?> targetClass, long elapsedNanos, long allocatedBytes);
+}
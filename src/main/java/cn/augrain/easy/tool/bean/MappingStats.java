@@ -0,0 +1,83 @@
+package cn.augrain.easy.tool.bean;
+
+/**
+ * 单个 (操作, 源类型, 目标类型) 的映射统计快照
+ *
+ * @author biaoy
+ * @since 2025/07/22
+ */
+public final class MappingStats {
+
+    private final String operation;
+
+    private final String sourceClass;
+
+    private final String targetClass;
+
+    private final long count;
+
+    private final long totalNanos;
+
+    private final long maxNanos;
+
+    private final long allocatedBytes;
+
+    MappingStats(String operation, String sourceClass, String targetClass, long count, long totalNanos,
+                 long maxNanos, long allocatedBytes) {
+        this.operation = operation;
+        this.sourceClass = sourceClass;
+        this.targetClass = targetClass;
+        this.count = count;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * 源类型名
+     */
+    public String getSourceClass() {
+        return sourceClass;
+    }
+
+    /**
+     * 目标类型名
+     */
+    public String getTargetClass() {
+        return targetClass;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public long getAvgNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+
+    /**
+     * 累计分配字节数，未统计时为-1
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return operation + " " + sourceClass + " -> " + targetClass + " {count=" + count
+                + ", totalNanos=" + totalNanos + ", maxNanos=" + maxNanos + ", avgNanos=" + getAvgNanos()
+                + ", allocatedBytes=" + allocatedBytes + '}';
+    }
+}
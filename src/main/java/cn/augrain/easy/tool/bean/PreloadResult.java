@@ -0,0 +1,80 @@
+package cn.augrain.easy.tool.bean;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 映射器预加载结果
+ *
+ * @author biaoy
+ * @since 2025/07/20
+ */
+public final class PreloadResult {
+
+    /**
+     * 使用编译期生成的映射器
+     */
+    public static final String BACKEND_GENERATED = "generated";
+
+    /**
+     * 使用orika生成的映射器
+     */
+    public static final String BACKEND_ORIKA = "orika";
+
+    private final Class<?> sourceClass;
+
+    private final Class<?> destinationClass;
+
+    private final String backend;
+
+    private final long elapsedNanos;
+
+    private final Throwable error;
+
+    PreloadResult(Class<?> sourceClass, Class<?> destinationClass, String backend, long elapsedNanos, Throwable error) {
+        this.sourceClass = sourceClass;
+        this.destinationClass = destinationClass;
+        this.backend = backend;
+        this.elapsedNanos = elapsedNanos;
+        this.error = error;
+    }
+
+    public Class<?> getSourceClass() {
+        return sourceClass;
+    }
+
+    public Class<?> getDestinationClass() {
+        return destinationClass;
+    }
+
+    /**
+     * 映射器来源，{@link #BACKEND_GENERATED} 或 {@link #BACKEND_ORIKA}
+     */
+    public String getBackend() {
+        return backend;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    /**
+     * 预加载失败的原因，成功时为null
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return sourceClass.getName() + " -> " + destinationClass.getName() + " [" + backend + "] "
+                + getElapsedMillis() + "ms" + (error == null ? "" : " error: " + error);
+    }
+}
@@ -0,0 +1,281 @@
+package cn.augrain.easy.tool.bean;
+
+import cn.augrain.easy.tool.exception.UtilsRuntimeException;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.*;
+
+/**
+ * 将getter/setter编译为函数式接口，避免每次调用都走 {@link Method#invoke}
+ * <p>
+ * 优先使用 {@link LambdaMetafactory} 生成与手写代码等价的调用；
+ * 方法不可访问或类对当前类加载器不可见时，退化为反射调用
+ *
+ * @author biaoy
+ * @since 2025/07/05
+ */
+final class PropertyAccessors {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private PropertyAccessors() {
+
+    }
+
+    /**
+     * 编译getter
+     *
+     * @param readMethod getter
+     * @return 读取属性值的函数，基本类型返回值会被装箱
+     */
+    @SuppressWarnings("unchecked")
+    static Function<Object, Object> getter(Method readMethod) {
+        if (isLambdaCompatible(readMethod)) {
+            try {
+                Class<?> owner = readMethod.getDeclaringClass();
+                return (Function<Object, Object>) metafactory(readMethod, Function.class, "apply",
+                        MethodType.methodType(Object.class, Object.class),
+                        MethodType.methodType(wrap(readMethod.getReturnType()), owner));
+            } catch (Throwable e) {
+                // 退化为反射调用
+            }
+        }
+        Method method = accessible(readMethod);
+        return bean -> invoke(method, bean);
+    }
+
+    /**
+     * 编译setter
+     *
+     * @param writeMethod setter
+     * @return 写入属性值的函数，基本类型参数会被拆箱
+     */
+    @SuppressWarnings("unchecked")
+    static BiConsumer<Object, Object> setter(Method writeMethod) {
+        if (isLambdaCompatible(writeMethod)) {
+            try {
+                Class<?> owner = writeMethod.getDeclaringClass();
+                return (BiConsumer<Object, Object>) metafactory(writeMethod, BiConsumer.class, "accept",
+                        MethodType.methodType(void.class, Object.class, Object.class),
+                        MethodType.methodType(void.class, owner, wrap(writeMethod.getParameterTypes()[0])));
+            } catch (Throwable e) {
+                // 退化为反射调用
+            }
+        }
+        Method method = accessible(writeMethod);
+        return (bean, value) -> invoke(method, bean, value);
+    }
+
+    /**
+     * 编译返回int的getter，读取时不装箱
+     */
+    @SuppressWarnings("unchecked")
+    static ToIntFunction<Object> intGetter(Method readMethod) {
+        if (isLambdaCompatible(readMethod)) {
+            try {
+                return (ToIntFunction<Object>) metafactory(readMethod, ToIntFunction.class, "applyAsInt",
+                        MethodType.methodType(int.class, Object.class),
+                        MethodType.methodType(int.class, readMethod.getDeclaringClass()));
+            } catch (Throwable e) {
+                // 退化为反射调用
+            }
+        }
+        Method method = accessible(readMethod);
+        return bean -> (Integer) invoke(method, bean);
+    }
+
+    /**
+     * 编译参数为int的setter，写入时不装箱
+     */
+    @SuppressWarnings("unchecked")
+    static ObjIntConsumer<Object> intSetter(Method writeMethod) {
+        if (isLambdaCompatible(writeMethod)) {
+            try {
+                return (ObjIntConsumer<Object>) metafactory(writeMethod, ObjIntConsumer.class, "accept",
+                        MethodType.methodType(void.class, Object.class, int.class),
+                        MethodType.methodType(void.class, writeMethod.getDeclaringClass(), int.class));
+            } catch (Throwable e) {
+                // 退化为反射调用
+            }
+        }
+        Method method = accessible(writeMethod);
+        return (bean, value) -> invoke(method, bean, value);
+    }
+
+    /**
+     * 编译返回long的getter，读取时不装箱
+     */
+    @SuppressWarnings("unchecked")
+    static ToLongFunction<Object> longGetter(Method readMethod) {
+        if (isLambdaCompatible(readMethod)) {
+            try {
+                return (ToLongFunction<Object>) metafactory(readMethod, ToLongFunction.class, "applyAsLong",
+                        MethodType.methodType(long.class, Object.class),
+                        MethodType.methodType(long.class, readMethod.getDeclaringClass()));
+            } catch (Throwable e) {
+                // 退化为反射调用
+            }
+        }
+        Method method = accessible(readMethod);
+        return bean -> (Long) invoke(method, bean);
+    }
+
+    /**
+     * 编译参数为long的setter，写入时不装箱
+     */
+    @SuppressWarnings("unchecked")
+    static ObjLongConsumer<Object> longSetter(Method writeMethod) {
+        if (isLambdaCompatible(writeMethod)) {
+            try {
+                return (ObjLongConsumer<Object>) metafactory(writeMethod, ObjLongConsumer.class, "accept",
+                        MethodType.methodType(void.class, Object.class, long.class),
+                        MethodType.methodType(void.class, writeMethod.getDeclaringClass(), long.class));
+            } catch (Throwable e) {
+                // 退化为反射调用
+            }
+        }
+        Method method = accessible(writeMethod);
+        return (bean, value) -> invoke(method, bean, value);
+    }
+
+    /**
+     * 编译返回double的getter，读取时不装箱
+     */
+    @SuppressWarnings("unchecked")
+    static ToDoubleFunction<Object> doubleGetter(Method readMethod) {
+        if (isLambdaCompatible(readMethod)) {
+            try {
+                return (ToDoubleFunction<Object>) metafactory(readMethod, ToDoubleFunction.class, "applyAsDouble",
+                        MethodType.methodType(double.class, Object.class),
+                        MethodType.methodType(double.class, readMethod.getDeclaringClass()));
+            } catch (Throwable e) {
+                // 退化为反射调用
+            }
+        }
+        Method method = accessible(readMethod);
+        return bean -> (Double) invoke(method, bean);
+    }
+
+    /**
+     * 编译参数为double的setter，写入时不装箱
+     */
+    @SuppressWarnings("unchecked")
+    static ObjDoubleConsumer<Object> doubleSetter(Method writeMethod) {
+        if (isLambdaCompatible(writeMethod)) {
+            try {
+                return (ObjDoubleConsumer<Object>) metafactory(writeMethod, ObjDoubleConsumer.class, "accept",
+                        MethodType.methodType(void.class, Object.class, double.class),
+                        MethodType.methodType(void.class, writeMethod.getDeclaringClass(), double.class));
+            } catch (Throwable e) {
+                // 退化为反射调用
+            }
+        }
+        Method method = accessible(writeMethod);
+        return (bean, value) -> invoke(method, bean, value);
+    }
+
+    /**
+     * 编译无参构造器
+     *
+     * @param type 类型，非静态内部类等无法直接构造的类型退化为 {@link ClassUtils#newInstance(Class)}
+     * @return 创建实例的函数
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Supplier<T> instantiator(Class<T> type) {
+        boolean innerClass = type.isMemberClass() && !Modifier.isStatic(type.getModifiers());
+        if (!innerClass && Modifier.isPublic(type.getModifiers()) && !Modifier.isAbstract(type.getModifiers())
+                && isVisible(type)) {
+            try {
+                MethodHandle constructor = LOOKUP.findConstructor(type, MethodType.methodType(void.class));
+                CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, "get",
+                        MethodType.methodType(Supplier.class), MethodType.methodType(Object.class), constructor,
+                        MethodType.methodType(type));
+                return (Supplier<T>) callSite.getTarget().invoke();
+            } catch (Throwable e) {
+                // 退化为反射调用
+            }
+        }
+        return () -> ClassUtils.newInstance(type);
+    }
+
+    /**
+     * 基本类型转包装类型
+     */
+    static Class<?> wrap(Class<?> type) {
+        if (!type.isPrimitive()) return type;
+        if (type == int.class) return Integer.class;
+        if (type == long.class) return Long.class;
+        if (type == double.class) return Double.class;
+        if (type == float.class) return Float.class;
+        if (type == boolean.class) return Boolean.class;
+        if (type == char.class) return Character.class;
+        if (type == byte.class) return Byte.class;
+        if (type == short.class) return Short.class;
+        return type;
+    }
+
+    private static Object metafactory(Method method, Class<?> interfaceType, String interfaceMethod,
+                                      MethodType samType, MethodType instantiatedType) throws Throwable {
+        MethodHandle target = LOOKUP.unreflect(method);
+        CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, interfaceMethod,
+                MethodType.methodType(interfaceType), samType, target, instantiatedType);
+        return callSite.getTarget().invoke();
+    }
+
+    /**
+     * 生成的lambda类定义在本类所在的类加载器中，只有在该加载器能看到bean类、且方法公开可访问时才能直接调用
+     */
+    private static boolean isLambdaCompatible(Method method) {
+        Class<?> owner = method.getDeclaringClass();
+        if (!Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(owner.getModifiers())) {
+            return false;
+        }
+        return isVisible(owner) && isVisible(method.getReturnType())
+                && (method.getParameterCount() == 0 || isVisible(method.getParameterTypes()[0]));
+    }
+
+    private static boolean isVisible(Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return true;
+        }
+        ClassLoader loader = PropertyAccessors.class.getClassLoader();
+        try {
+            return Class.forName(type.getName(), false, loader) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static Method accessible(Method method) {
+        try {
+            method.setAccessible(true);
+        } catch (RuntimeException e) {
+            // 无法设置时保持原状，由调用时的异常暴露问题
+        }
+        return method;
+    }
+
+    private static Object invoke(Method method, Object bean, Object... args) {
+        try {
+            return method.invoke(bean, args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new UtilsRuntimeException(cause);
+        } catch (IllegalAccessException e) {
+            throw new UtilsRuntimeException(e);
+        }
+    }
+}
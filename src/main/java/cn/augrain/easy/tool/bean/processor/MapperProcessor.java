@@ -0,0 +1,451 @@
+package cn.augrain.easy.tool.bean.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.*;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.beans.Introspector;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * {@code GenerateMapper} 注解处理器
+ * <p>
+ * 为每对 (源类型, 目标类型) 生成直接调用getter/setter的 {@code GeneratedMapper} 实现，
+ * 并写入 {@code META-INF/services/cn.augrain.easy.tool.bean.GeneratedMapper} 供运行时加载。
+ * <p>
+ * 处理器不会自动注册，需要显式启用：使用 {@code processor} 分类器的jar，或在编译参数中指定本类。
+ * 同一轮处理中lombok可能晚于本处理器执行，因此类或字段上的lombok {@code @Getter/@Setter/@Data/@Value}
+ * 也视为对应的getter/setter已存在。
+ * <p>
+ * 生成的映射器只做同名属性的浅拷贝，不做类型转换。存在类型不兼容而跳过的同名属性，
+ * 或需要深拷贝的属性（bean、集合、数组等）时，映射器标记为不完整，运行时由orika处理
+ *
+ * @author biaoy
+ * @since 2025/07/18
+ */
+@SupportedAnnotationTypes({MapperProcessor.ANNOTATION, MapperProcessor.CONTAINER})
+public class MapperProcessor extends AbstractProcessor {
+
+    static final String ANNOTATION = "cn.augrain.easy.tool.bean.GenerateMapper";
+
+    static final String CONTAINER = "cn.augrain.easy.tool.bean.GenerateMapper.List";
+
+    private static final String MAPPER_INTERFACE = "cn.augrain.easy.tool.bean.GeneratedMapper";
+
+    private static final String LOMBOK_GETTER = "lombok.Getter";
+
+    private static final String LOMBOK_SETTER = "lombok.Setter";
+
+    private static final String LOMBOK_DATA = "lombok.Data";
+
+    private static final String LOMBOK_VALUE = "lombok.Value";
+
+    private static final Set<String> VALUE_TYPES = new HashSet<>(Arrays.asList(
+            "java.lang.String", "java.lang.Boolean", "java.lang.Character", "java.lang.Byte", "java.lang.Short",
+            "java.lang.Integer", "java.lang.Long", "java.lang.Float", "java.lang.Double",
+            "java.math.BigDecimal", "java.math.BigInteger", "java.util.UUID", "java.util.Locale"));
+
+    private Elements elements;
+
+    private Types types;
+
+    private Filer filer;
+
+    private Messager messager;
+
+    private final Set<String> generated = new TreeSet<>();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.filer = processingEnv.getFiler();
+        this.messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeServiceFile();
+            return false;
+        }
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element instanceof TypeElement) {
+                    for (AnnotationMirror mirror : findMapperAnnotations(element)) {
+                        generate((TypeElement) element, mirror);
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 找出元素上所有的 GenerateMapper，包括容器注解中的
+     */
+    private List<AnnotationMirror> findMapperAnnotations(Element element) {
+        List<AnnotationMirror> result = new ArrayList<>();
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            String name = ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+            if (ANNOTATION.equals(name)) {
+                result.add(mirror);
+            } else if (CONTAINER.equals(name)) {
+                Object value = annotationValue(mirror, "value");
+                if (value instanceof List) {
+                    for (Object item : (List<?>) value) {
+                        result.add((AnnotationMirror) ((AnnotationValue) item).getValue());
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private void generate(TypeElement origin, AnnotationMirror mirror) {
+        DeclaredType sourceType = (DeclaredType) annotationValue(mirror, "source");
+        DeclaredType targetType = (DeclaredType) annotationValue(mirror, "target");
+        TypeElement source = (TypeElement) sourceType.asElement();
+        TypeElement target = (TypeElement) targetType.asElement();
+
+        if (!hasPublicNoArgConstructor(target)) {
+            messager.printMessage(Diagnostic.Kind.ERROR,
+                    target.getQualifiedName() + " must have a public no-arg constructor", origin, mirror);
+            return;
+        }
+
+        String packageName = elements.getPackageOf(origin).getQualifiedName().toString();
+        String simpleName = flatName(source) + "To" + flatName(target) + "Mapper";
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        if (generated.contains(qualifiedName)) {
+            return;
+        }
+
+        Map<String, Accessor> setters = collectSetters(targetType);
+        StringBuilder body = new StringBuilder();
+        int copied = 0;
+        boolean complete = true;
+        for (Map.Entry<String, Accessor> entry : collectGetters(sourceType).entrySet()) {
+            Accessor setter = setters.get(entry.getKey());
+            if (setter == null) {
+                continue;
+            }
+            Accessor getter = entry.getValue();
+            if (!isCompatible(getter.type, setter.type)) {
+                // 需要类型转换的属性交给orika
+                complete = false;
+                continue;
+            }
+            if (!isValueType(getter.type)) {
+                // bean、集合等orika会深拷贝，这里只能复制引用
+                complete = false;
+            }
+            appendCopy(body, getter, setter);
+            copied++;
+        }
+        complete &= copied > 0;
+
+        String sourceName = source.getQualifiedName().toString();
+        String targetName = target.getQualifiedName().toString();
+        try {
+            JavaFileObject file = filer.createSourceFile(qualifiedName, origin);
+            try (Writer writer = file.openWriter()) {
+                if (!packageName.isEmpty()) {
+                    writer.write("package " + packageName + ";\n\n");
+                }
+                writer.write("/**\n * 由 " + getClass().getName() + " 生成，请勿修改\n */\n");
+                writer.write("public final class " + simpleName + " implements " + MAPPER_INTERFACE
+                        + "<" + sourceName + ", " + targetName + "> {\n\n");
+                writer.write("    @Override\n    public Class<" + sourceName + "> sourceType() {\n"
+                        + "        return " + sourceName + ".class;\n    }\n\n");
+                writer.write("    @Override\n    public Class<" + targetName + "> destinationType() {\n"
+                        + "        return " + targetName + ".class;\n    }\n\n");
+                writer.write("    @Override\n    public boolean isComplete() {\n"
+                        + "        return " + complete + ";\n    }\n\n");
+                writer.write("    @Override\n    public " + targetName + " map(" + sourceName + " source) {\n"
+                        + "        if (source == null) {\n            return null;\n        }\n"
+                        + "        " + targetName + " destination = new " + targetName + "();\n"
+                        + "        map(source, destination);\n"
+                        + "        return destination;\n    }\n\n");
+                writer.write("    @Override\n    public void map(" + sourceName + " source, " + targetName
+                        + " destination) {\n"
+                        + "        if (source == null || destination == null) {\n            return;\n        }\n");
+                writer.write(body.toString());
+                writer.write("    }\n}\n");
+            }
+            generated.add(qualifiedName);
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "generate " + qualifiedName + " error: " + e, origin);
+        }
+    }
+
+    private void appendCopy(StringBuilder body, Accessor getter, Accessor setter) {
+        String read = "source." + getter.method + "()";
+        String write = "destination." + setter.method;
+        if (getter.type.getKind().isPrimitive()) {
+            body.append("        ").append(write).append('(').append(read).append(");\n");
+        } else {
+            // 与 mapNulls(false) 一致，null不覆盖目标值
+            body.append("        {\n")
+                    .append("            ").append(getter.type).append(" value = ").append(read).append(";\n")
+                    .append("            if (value != null) {\n")
+                    .append("                ").append(write).append("(value);\n")
+                    .append("            }\n")
+                    .append("        }\n");
+        }
+    }
+
+    /**
+     * 不可变的值类型，复制引用与orika的结果一致
+     */
+    private boolean isValueType(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return true;
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+        if (element.getKind() == ElementKind.ENUM) {
+            return true;
+        }
+        String name = element.getQualifiedName().toString();
+        return VALUE_TYPES.contains(name)
+                || (name.startsWith("java.time.") && element.getModifiers().contains(Modifier.FINAL));
+    }
+
+    /**
+     * 与 BeanCopier 一致：基本类型按包装类型比较，目标类型可由源类型赋值
+     */
+    private boolean isCompatible(TypeMirror valueType, TypeMirror paramType) {
+        if (containsTypeVariable(valueType) || containsTypeVariable(paramType)) {
+            return false;
+        }
+        return types.isAssignable(box(valueType), box(paramType));
+    }
+
+    private TypeMirror box(TypeMirror type) {
+        return type.getKind().isPrimitive() ? types.boxedClass((PrimitiveType) type).asType() : type;
+    }
+
+    private boolean containsTypeVariable(TypeMirror type) {
+        switch (type.getKind()) {
+            case TYPEVAR:
+            case ERROR:
+                return true;
+            case ARRAY:
+                return containsTypeVariable(((ArrayType) type).getComponentType());
+            case WILDCARD:
+                WildcardType wildcard = (WildcardType) type;
+                return (wildcard.getExtendsBound() != null && containsTypeVariable(wildcard.getExtendsBound()))
+                        || (wildcard.getSuperBound() != null && containsTypeVariable(wildcard.getSuperBound()));
+            case DECLARED:
+                for (TypeMirror argument : ((DeclaredType) type).getTypeArguments()) {
+                    if (containsTypeVariable(argument)) {
+                        return true;
+                    }
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * 公开的实例getter，按属性名索引，包括lombok将要生成的
+     */
+    private Map<String, Accessor> collectGetters(DeclaredType type) {
+        Map<String, Accessor> getters = new LinkedHashMap<>();
+        TypeElement element = (TypeElement) type.asElement();
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(element))) {
+            if (!isPublicInstance(method) || !method.getParameters().isEmpty()) {
+                continue;
+            }
+            String name = method.getSimpleName().toString();
+            TypeKind returnKind = method.getReturnType().getKind();
+            TypeMirror returnType = ((ExecutableType) types.asMemberOf(type, method)).getReturnType();
+            if (name.startsWith("get") && name.length() > 3 && returnKind != TypeKind.VOID && !"getClass".equals(name)) {
+                getters.putIfAbsent(Introspector.decapitalize(name.substring(3)), new Accessor(name, returnType));
+            } else if (name.startsWith("is") && name.length() > 2 && returnKind == TypeKind.BOOLEAN) {
+                getters.putIfAbsent(Introspector.decapitalize(name.substring(2)), new Accessor(name, returnType));
+            }
+        }
+        for (VariableElement field : lombokFields(element, true)) {
+            TypeMirror fieldType = types.asMemberOf(type, field);
+            String method = (fieldType.getKind() == TypeKind.BOOLEAN ? "is" : "get") + lombokSuffix(field);
+            getters.putIfAbsent(propertyName(method), new Accessor(method, fieldType));
+        }
+        return getters;
+    }
+
+    /**
+     * 公开的实例setter，按属性名索引，包括lombok将要生成的
+     */
+    private Map<String, Accessor> collectSetters(DeclaredType type) {
+        Map<String, Accessor> setters = new LinkedHashMap<>();
+        TypeElement element = (TypeElement) type.asElement();
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(element))) {
+            String name = method.getSimpleName().toString();
+            if (isPublicInstance(method) && method.getParameters().size() == 1 && name.startsWith("set")
+                    && name.length() > 3 && method.getReturnType().getKind() == TypeKind.VOID) {
+                TypeMirror paramType = ((ExecutableType) types.asMemberOf(type, method)).getParameterTypes().get(0);
+                setters.putIfAbsent(Introspector.decapitalize(name.substring(3)), new Accessor(name, paramType));
+            }
+        }
+        for (VariableElement field : lombokFields(element, false)) {
+            String method = "set" + lombokSuffix(field);
+            setters.putIfAbsent(propertyName(method), new Accessor(method, types.asMemberOf(type, field)));
+        }
+        return setters;
+    }
+
+    /**
+     * lombok会为其生成getter或setter的字段，依次查找当前类及其父类
+     */
+    private List<VariableElement> lombokFields(TypeElement type, boolean getter) {
+        List<VariableElement> fields = new ArrayList<>();
+        for (TypeElement current = type; current != null; current = superclass(current)) {
+            boolean onClass = getter
+                    ? hasAnnotation(current, LOMBOK_GETTER, LOMBOK_DATA, LOMBOK_VALUE)
+                    : hasAnnotation(current, LOMBOK_SETTER, LOMBOK_DATA);
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.STATIC) || (!getter && modifiers.contains(Modifier.FINAL))) {
+                    continue;
+                }
+                if (onClass || hasAnnotation(field, getter ? LOMBOK_GETTER : LOMBOK_SETTER)) {
+                    fields.add(field);
+                }
+            }
+        }
+        return fields;
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+        return "java.lang.Object".contentEquals(element.getQualifiedName()) ? null : element;
+    }
+
+    private static boolean hasAnnotation(Element element, String... names) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            String name = ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+            for (String candidate : names) {
+                if (candidate.equals(name)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * lombok的命名规则：首字母大写，boolean字段去掉is前缀
+     */
+    private static String lombokSuffix(VariableElement field) {
+        String name = field.getSimpleName().toString();
+        if (field.asType().getKind() == TypeKind.BOOLEAN && name.length() > 2 && name.startsWith("is")
+                && Character.isUpperCase(name.charAt(2))) {
+            name = name.substring(2);
+        }
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static String propertyName(String method) {
+        return Introspector.decapitalize(method.substring(method.startsWith("is") ? 2 : 3));
+    }
+
+    private static boolean isPublicInstance(ExecutableElement method) {
+        Set<Modifier> modifiers = method.getModifiers();
+        return modifiers.contains(Modifier.PUBLIC) && !modifiers.contains(Modifier.STATIC);
+    }
+
+    private static boolean hasPublicNoArgConstructor(TypeElement type) {
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 嵌套类型的外部类名以下划线连接
+     */
+    private static String flatName(TypeElement type) {
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+        Element enclosing = type.getEnclosingElement();
+        while (enclosing instanceof TypeElement) {
+            name.insert(0, enclosing.getSimpleName() + "_");
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return name.toString();
+    }
+
+    private static Object annotationValue(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : mirror.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    private void writeServiceFile() {
+        if (generated.isEmpty()) {
+            return;
+        }
+        try {
+            FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "",
+                    "META-INF/services/" + MAPPER_INTERFACE);
+            try (Writer writer = file.openWriter()) {
+                for (String name : generated) {
+                    writer.write(name);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "write service file error: " + e);
+        }
+    }
+
+    /**
+     * getter或setter：方法名与属性类型
+     */
+    private static final class Accessor {
+        private final String method;
+        private final TypeMirror type;
+
+        Accessor(String method, TypeMirror type) {
+            this.method = method;
+            this.type = type;
+        }
+    }
+}
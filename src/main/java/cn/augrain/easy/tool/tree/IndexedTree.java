@@ -0,0 +1,363 @@
+package cn.augrain.easy.tool.tree;
+
+import cn.augrain.easy.tool.exception.UtilsRuntimeException;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * 按先序遍历编号的不可变树索引
+ * <p>
+ * 节点按先序排列，每个节点的子树是一段连续区间 [index, end)，配合父节点、深度数组：
+ * <ul>
+ *     <li>祖先/子树判断 O(1)</li>
+ *     <li>列出所有后代是一次区间读取</li>
+ *     <li>到根节点的路径按父节点数组回溯</li>
+ * </ul>
+ * 构建时不修改节点，节点的子节点在构建后变化不会反映到索引中
+ *
+ * @author biaoy
+ * @since 2025/08/01
+ */
+public final class IndexedTree<K, T extends TreeNode<K>> {
+
+    private static final int NONE = -1;
+
+    // 先序排列的节点
+    private final Object[] nodes;
+
+    private final int[] parents;
+
+    private final int[] depths;
+
+    // 子树区间的结束位置（不含）
+    private final int[] ends;
+
+    private final Map<K, Integer> index;
+
+    private final List<T> roots;
+
+    private final List<T> view;
+
+    IndexedTree(Object[] nodes, int[] parents, int[] depths, int[] ends, Map<K, Integer> index, List<T> roots) {
+        this.nodes = nodes;
+        this.parents = parents;
+        this.depths = depths;
+        this.ends = ends;
+        this.index = index;
+        this.roots = roots;
+        this.view = new NodeList();
+    }
+
+    /**
+     * 从已构建好的树（如 {@link TreeUtils#toTree(List)} 的结果）建立索引
+     *
+     * @param roots 根节点
+     * @return 索引
+     * @throws UtilsRuntimeException 节点id为null或重复（包括环）时
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, T extends TreeNode<K>> IndexedTree<K, T> of(List<? extends T> roots) {
+        List<Object> ordered = new ArrayList<>();
+        int[] parents = new int[16];
+        int[] depths = new int[16];
+        Map<K, Integer> index = new HashMap<>();
+
+        // 显式栈：节点及其父节点下标
+        Object[] stack = new Object[16];
+        int[] stackParents = new int[16];
+        int top = 0;
+        for (int i = roots.size() - 1; i >= 0; i--) {
+            if (top == stack.length) {
+                stack = Arrays.copyOf(stack, top << 1);
+                stackParents = Arrays.copyOf(stackParents, top << 1);
+            }
+            stack[top] = roots.get(i);
+            stackParents[top++] = NONE;
+        }
+        while (top > 0) {
+            T node = (T) stack[--top];
+            int parent = stackParents[top];
+            int current = ordered.size();
+            K id = node.id();
+            if (id == null || index.putIfAbsent(id, current) != null) {
+                throw new UtilsRuntimeException("null or duplicate tree node id: " + id);
+            }
+            if (current == parents.length) {
+                parents = Arrays.copyOf(parents, current << 1);
+                depths = Arrays.copyOf(depths, current << 1);
+            }
+            ordered.add(node);
+            parents[current] = parent;
+            depths[current] = parent == NONE ? 0 : depths[parent] + 1;
+
+            List<? extends TreeNode<K>> children = node.getChildren();
+            if (children == null) {
+                continue;
+            }
+            for (int i = children.size() - 1; i >= 0; i--) {
+                if (top == stack.length) {
+                    stack = Arrays.copyOf(stack, top << 1);
+                    stackParents = Arrays.copyOf(stackParents, top << 1);
+                }
+                stack[top] = children.get(i);
+                stackParents[top++] = current;
+            }
+        }
+
+        int size = ordered.size();
+        int[] ends = new int[size];
+        for (int i = 0; i < size; i++) {
+            ends[i] = i + 1;
+        }
+        // 先序下子节点的编号都大于父节点，倒序合并即可得到子树区间
+        for (int i = size - 1; i > 0; i--) {
+            int parent = parents[i];
+            if (parent != NONE && ends[i] > ends[parent]) {
+                ends[parent] = ends[i];
+            }
+        }
+        return new IndexedTree<>(ordered.toArray(), Arrays.copyOf(parents, size), Arrays.copyOf(depths, size), ends,
+                index, Collections.unmodifiableList(new ArrayList<>(roots)));
+    }
+
+    public int size() {
+        return nodes.length;
+    }
+
+    public List<T> getRoots() {
+        return roots;
+    }
+
+    /**
+     * 按先序排列的所有节点
+     */
+    public List<T> nodes() {
+        return view;
+    }
+
+    /**
+     * 节点的先序编号
+     *
+     * @param id 节点id
+     * @return 编号，不存在时返回-1
+     */
+    public int indexOf(K id) {
+        Integer i = index.get(id);
+        return i == null ? NONE : i;
+    }
+
+    public boolean contains(K id) {
+        return index.containsKey(id);
+    }
+
+    /**
+     * 按id获取节点
+     *
+     * @param id 节点id
+     * @return 节点，不存在时返回null
+     */
+    public T get(K id) {
+        int i = indexOf(id);
+        return i == NONE ? null : node(i);
+    }
+
+    /**
+     * 按先序编号获取节点
+     */
+    @SuppressWarnings("unchecked")
+    public T node(int index) {
+        return (T) nodes[index];
+    }
+
+    /**
+     * 按先序编号获取父节点编号，根节点返回-1
+     */
+    public int parentIndex(int index) {
+        return parents[index];
+    }
+
+    /**
+     * 按先序编号获取深度，根节点为0
+     */
+    public int depthByIndex(int index) {
+        return depths[index];
+    }
+
+    /**
+     * 获取父节点
+     *
+     * @param id 节点id
+     * @return 父节点，根节点或节点不存在时返回null
+     */
+    public T getParent(K id) {
+        int i = indexOf(id);
+        return i == NONE || parents[i] == NONE ? null : node(parents[i]);
+    }
+
+    /**
+     * 获取深度
+     *
+     * @param id 节点id
+     * @return 深度，根节点为0，节点不存在时返回-1
+     */
+    public int getDepth(K id) {
+        int i = indexOf(id);
+        return i == NONE ? NONE : depths[i];
+    }
+
+    /**
+     * 按先序编号判断ancestor是否为descendant的祖先（不含自身）
+     */
+    public boolean isAncestorByIndex(int ancestor, int descendant) {
+        return ancestor < descendant && descendant < ends[ancestor];
+    }
+
+    /**
+     * ancestor是否为descendant的祖先（不含自身），任一节点不存在时返回false
+     *
+     * @param ancestor   祖先id
+     * @param descendant 后代id
+     * @return 是否为祖先
+     */
+    public boolean isAncestor(K ancestor, K descendant) {
+        int a = indexOf(ancestor);
+        int d = indexOf(descendant);
+        return a != NONE && d != NONE && isAncestorByIndex(a, d);
+    }
+
+    /**
+     * 节点是否在以root为根的子树中（含root自身），用于“X是否在Y下”的权限判断
+     *
+     * @param id   节点id
+     * @param root 子树根节点id
+     * @return 是否在子树中
+     */
+    public boolean isInSubtree(K id, K root) {
+        int i = indexOf(id);
+        int r = indexOf(root);
+        return i != NONE && r != NONE && r <= i && i < ends[r];
+    }
+
+    /**
+     * 子树节点数，含自身
+     *
+     * @param id 节点id
+     * @return 节点数，不存在时返回0
+     */
+    public int subtreeSize(K id) {
+        int i = indexOf(id);
+        return i == NONE ? 0 : ends[i] - i;
+    }
+
+    /**
+     * 以id为根的子树，含自身，按先序排列
+     *
+     * @param id 节点id
+     * @return 子树节点视图，不复制，节点不存在时返回空列表
+     */
+    public List<T> subtree(K id) {
+        int i = indexOf(id);
+        return i == NONE ? Collections.emptyList() : view.subList(i, ends[i]);
+    }
+
+    /**
+     * 所有后代，不含自身，按先序排列
+     *
+     * @param id 节点id
+     * @return 后代节点视图，不复制，节点不存在时返回空列表
+     */
+    public List<T> descendants(K id) {
+        int i = indexOf(id);
+        return i == NONE ? Collections.emptyList() : view.subList(i + 1, ends[i]);
+    }
+
+    /**
+     * 直接子节点，按构建时的顺序
+     * <p>
+     * 按子树区间跳跃查找，不读取节点自身的子节点列表
+     *
+     * @param id 节点id
+     * @return 子节点，节点不存在时返回空列表
+     */
+    public List<T> getChildren(K id) {
+        int i = indexOf(id);
+        if (i == NONE || ends[i] == i + 1) {
+            return Collections.emptyList();
+        }
+        List<T> children = new ArrayList<>();
+        for (int j = i + 1; j < ends[i]; j = ends[j]) {
+            children.add(node(j));
+        }
+        return children;
+    }
+
+    /**
+     * 从节点到根节点的路径，第一个元素为节点自身
+     *
+     * @param id 节点id
+     * @return 路径，节点不存在时返回空列表
+     */
+    public List<T> pathToRoot(K id) {
+        int i = indexOf(id);
+        if (i == NONE) {
+            return Collections.emptyList();
+        }
+        List<T> path = new ArrayList<>(depths[i] + 1);
+        for (; i != NONE; i = parents[i]) {
+            path.add(node(i));
+        }
+        return path;
+    }
+
+    /**
+     * 两个节点的最近公共祖先
+     *
+     * @param a 节点id
+     * @param b 节点id
+     * @return 最近公共祖先，节点不在同一棵树或不存在时返回null
+     */
+    public T lowestCommonAncestor(K a, K b) {
+        int i = indexOf(a);
+        int j = indexOf(b);
+        if (i == NONE || j == NONE) {
+            return null;
+        }
+        while (depths[i] > depths[j]) {
+            i = parents[i];
+        }
+        while (depths[j] > depths[i]) {
+            j = parents[j];
+        }
+        while (i != j) {
+            i = parents[i];
+            j = parents[j];
+            if (i == NONE || j == NONE) {
+                return null;
+            }
+        }
+        return node(i);
+    }
+
+    /**
+     * 先序节点数组的只读视图
+     */
+    private final class NodeList extends AbstractList<T> implements RandomAccess {
+
+        @Override
+        public T get(int index) {
+            return node(index);
+        }
+
+        @Override
+        public int size() {
+            return nodes.length;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package cn.augrain.easy.tool.tree;
+
+import java.util.Arrays;
+
+/**
+ * long到int的开放寻址索引，线性探测
+ * <p>
+ * 键和值分别存放在基本类型数组中，不装箱，没有Entry对象。
+ * 容量在创建时按预期元素数确定（负载因子不超过0.5，超过2^29个元素时容量固定为2^30），不支持扩容和删除，值必须非负
+ *
+ * @author biaoy
+ * @since 2025/08/05
+ */
+final class LongIndex {
+
+    static final int NONE = -1;
+
+    static final int MAX_CAPACITY = 1 << 30;
+
+    private final long[] keys;
+
+    private final int[] values;
+
+    private final int mask;
+
+    LongIndex(int expectedSize) {
+        int capacity = capacity(expectedSize);
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+        Arrays.fill(values, NONE);
+    }
+
+    /**
+     * 按预期元素数计算容量，为不小于两倍元素数的2的幂，最大为 {@link #MAX_CAPACITY}
+     *
+     * @throws IllegalArgumentException 元素数不小于最大容量时，表中至少要留一个空槽结束探测
+     */
+    static int capacity(int expectedSize) {
+        if (expectedSize >= MAX_CAPACITY) {
+            throw new IllegalArgumentException("expected size too large for LongIndex: " + expectedSize);
+        }
+        if (expectedSize > MAX_CAPACITY >> 1) {
+            return MAX_CAPACITY;
+        }
+        return Integer.highestOneBit(Math.max(expectedSize, 2) * 2 - 1) << 1;
+    }
+
+    /**
+     * 键不存在时写入
+     *
+     * @param key   键
+     * @param value 值，非负
+     * @return 已存在的值，不存在时返回 {@link #NONE}
+     */
+    int putIfAbsent(long key, int value) {
+        int slot = hash(key) & mask;
+        while (values[slot] != NONE) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        return NONE;
+    }
+
+    /**
+     * 查找键对应的值
+     *
+     * @param key 键
+     * @return 值，不存在时返回 {@link #NONE}
+     */
+    int get(long key) {
+        int slot = hash(key) & mask;
+        int value;
+        while ((value = values[slot]) != NONE) {
+            if (keys[slot] == key) {
+                return value;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NONE;
+    }
+
+    /**
+     * 连续id经过乘法散列后分散到整个表，避免线性探测时聚集
+     */
+    static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
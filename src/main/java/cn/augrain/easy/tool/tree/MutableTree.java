@@ -0,0 +1,326 @@
+package cn.augrain.easy.tool.tree;
+
+import cn.augrain.easy.tool.exception.UtilsRuntimeException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 可增量修改的树，按id索引
+ * <p>
+ * 节点的父子关系由容器维护，插入、移动、删除单个节点均为 O(1) 期望时间，
+ * 移动时沿新父节点向上检查是否成环，耗时与深度成正比。删除节点时同时删除其整个子树。
+ * <p>
+ * 容器不修改节点对象（包括其子节点列表和父id），并发读取请使用 {@link #snapshot()}：
+ * 快照是不可变的 {@link TreeSnapshot}，修改时只记录变化的节点id，获取快照时在上一个快照的基础上
+ * 替换这些节点的记录，其余结构与上一个快照共享，发布耗时与两次快照之间变化的节点数成正比，与树的大小无关。
+ * 修改方法之间互斥，可以在一个线程写入的同时由其他线程获取快照读取
+ *
+ * @author biaoy
+ * @since 2025/08/04
+ */
+public final class MutableTree<K, T extends TreeNode<K>> {
+
+    private final Map<K, Entry<K, T>> index = new HashMap<>();
+
+    private final Map<K, Entry<K, T>> roots = new LinkedHashMap<>();
+
+    // 最近一次发布的快照，有修改时置为null
+    private volatile TreeSnapshot<K, T> snapshot;
+
+    // 下一次发布的基础，与snapshot不同的是修改时不清空
+    private TreeSnapshot<K, T> published = TreeSnapshot.empty();
+
+    // 自上次发布后记录发生变化的节点id，包括已删除的节点
+    private final Set<K> dirty = new HashSet<>();
+
+    private boolean rootsDirty;
+
+    // 变化的节点超过现有节点数时不再逐个记录，下一次发布时整体生成
+    private boolean rebuild;
+
+    /**
+     * 从已构建好的树（如 {@link TreeUtils#toTree(List)} 的结果）创建
+     *
+     * @param roots 根节点
+     * @return 树
+     * @throws UtilsRuntimeException 节点id为null或重复时
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, T extends TreeNode<K>> MutableTree<K, T> of(List<? extends T> roots) {
+        MutableTree<K, T> tree = new MutableTree<>();
+        ArrayDeque<Entry<K, T>> stack = new ArrayDeque<>();
+        for (T root : roots) {
+            stack.push(tree.link(root, null));
+        }
+        while (!stack.isEmpty()) {
+            Entry<K, T> entry = stack.pop();
+            List<? extends TreeNode<K>> children = entry.node.getChildren();
+            if (children == null) {
+                continue;
+            }
+            for (TreeNode<K> child : children) {
+                stack.push(tree.link((T) child, entry));
+            }
+        }
+        return tree;
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    public synchronized boolean contains(K id) {
+        return index.containsKey(id);
+    }
+
+    /**
+     * 按id获取节点
+     *
+     * @param id 节点id
+     * @return 节点，不存在时返回null
+     */
+    public synchronized T get(K id) {
+        Entry<K, T> entry = index.get(id);
+        return entry == null ? null : entry.node;
+    }
+
+    /**
+     * 获取父节点
+     *
+     * @param id 节点id
+     * @return 父节点，根节点或节点不存在时返回null
+     */
+    public synchronized T getParent(K id) {
+        Entry<K, T> entry = index.get(id);
+        return entry == null || entry.parent == null ? null : entry.parent.node;
+    }
+
+    /**
+     * 获取直接子节点，按插入或移入的顺序
+     *
+     * @param id 节点id
+     * @return 子节点副本，节点不存在时返回空列表
+     */
+    public synchronized List<T> getChildren(K id) {
+        Entry<K, T> entry = index.get(id);
+        return entry == null ? Collections.emptyList() : nodes(entry.children);
+    }
+
+    public synchronized List<T> getRoots() {
+        return nodes(roots);
+    }
+
+    /**
+     * 插入节点，挂到 {@link TreeNode#parentId()} 对应的节点下，父id为null时作为根节点
+     *
+     * @param node 节点，只插入节点自身，不处理其子节点列表
+     * @throws UtilsRuntimeException id为null或已存在、父节点不存在时
+     */
+    public void insert(T node) {
+        insert(node, node.parentId());
+    }
+
+    /**
+     * 插入节点到指定父节点下
+     *
+     * @param node     节点
+     * @param parentId 父节点id，为null时作为根节点
+     * @throws UtilsRuntimeException id为null或已存在、父节点不存在时
+     */
+    public synchronized void insert(T node, K parentId) {
+        link(node, parentId == null ? null : require(parentId));
+    }
+
+    /**
+     * 将节点连同其子树移动到新的父节点下，排在新父节点现有子节点之后
+     *
+     * @param id          节点id
+     * @param newParentId 新父节点id，为null时移动为根节点
+     * @throws UtilsRuntimeException 节点或新父节点不存在，或新父节点是节点自身或其后代时
+     */
+    public synchronized void move(K id, K newParentId) {
+        Entry<K, T> entry = require(id);
+        Entry<K, T> parent = null;
+        if (newParentId != null) {
+            parent = require(newParentId);
+            for (Entry<K, T> p = parent; p != null; p = p.parent) {
+                if (p == entry) {
+                    throw new UtilsRuntimeException("moving tree node " + id + " under " + newParentId
+                            + " would create a cycle");
+                }
+            }
+        }
+        siblings(entry.parent).remove(id);
+        touchChildren(entry.parent);
+        entry.parent = parent;
+        attach(entry);
+        touch(id);
+    }
+
+    /**
+     * 删除节点及其整个子树
+     *
+     * @param id 节点id
+     * @return 删除的节点数，节点不存在时返回0
+     */
+    public synchronized int delete(K id) {
+        Entry<K, T> entry = index.get(id);
+        if (entry == null) {
+            return 0;
+        }
+        siblings(entry.parent).remove(id);
+        touchChildren(entry.parent);
+        int removed = 0;
+        ArrayDeque<Entry<K, T>> stack = new ArrayDeque<>();
+        stack.push(entry);
+        while (!stack.isEmpty()) {
+            Entry<K, T> current = stack.pop();
+            index.remove(current.id);
+            touch(current.id);
+            removed++;
+            if (current.children != null) {
+                for (Entry<K, T> child : current.children.values()) {
+                    stack.push(child);
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * 当前结构的不可变快照
+     * <p>
+     * 自上次修改后第一次调用时，在上一个快照的基础上替换变化节点的记录，之后直接返回同一个快照。
+     * 快照的结构不受后续修改影响，可在多个线程间共享
+     *
+     * @return 快照
+     */
+    public TreeSnapshot<K, T> snapshot() {
+        TreeSnapshot<K, T> current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                snapshot = publish();
+            }
+            return snapshot;
+        }
+    }
+
+    private TreeSnapshot<K, T> publish() {
+        PersistentMap<K, TreeSnapshot.Record<K, T>> records = rebuild ? PersistentMap.empty() : published.records();
+        for (K id : rebuild ? index.keySet() : dirty) {
+            Entry<K, T> entry = index.get(id);
+            records = entry == null ? records.remove(id) : records.put(id, record(entry));
+        }
+        Object[] rootIds = rootsDirty || rebuild ? ids(roots) : published.rootIds();
+        published = new TreeSnapshot<>(records, rootIds);
+        dirty.clear();
+        rootsDirty = false;
+        rebuild = false;
+        return published;
+    }
+
+    private static <K, T> TreeSnapshot.Record<K, T> record(Entry<K, T> entry) {
+        return new TreeSnapshot.Record<>(entry.node, entry.parent == null ? null : entry.parent.id,
+                ids(entry.children));
+    }
+
+    private static Object[] ids(Map<?, ?> entries) {
+        return entries == null || entries.isEmpty() ? TreeSnapshot.NO_CHILDREN : entries.keySet().toArray();
+    }
+
+    /**
+     * 记录节点的变化，清空已发布的快照
+     */
+    private void touch(K id) {
+        snapshot = null;
+        if (rebuild) {
+            return;
+        }
+        dirty.add(id);
+        if (dirty.size() > index.size()) {
+            rebuild = true;
+            dirty.clear();
+        }
+    }
+
+    /**
+     * 记录子节点列表的变化
+     */
+    private void touchChildren(Entry<K, T> parent) {
+        if (parent == null) {
+            snapshot = null;
+            rootsDirty = true;
+        } else {
+            touch(parent.id);
+        }
+    }
+
+    private Entry<K, T> link(T node, Entry<K, T> parent) {
+        K id = node.id();
+        if (id == null || index.containsKey(id)) {
+            throw new UtilsRuntimeException("null or duplicate tree node id: " + id);
+        }
+        Entry<K, T> entry = new Entry<>(id, node, parent);
+        index.put(id, entry);
+        attach(entry);
+        touch(id);
+        return entry;
+    }
+
+    private void attach(Entry<K, T> entry) {
+        Entry<K, T> parent = entry.parent;
+        if (parent != null && parent.children == null) {
+            parent.children = new LinkedHashMap<>();
+        }
+        siblings(parent).put(entry.id, entry);
+        touchChildren(parent);
+    }
+
+    private Map<K, Entry<K, T>> siblings(Entry<K, T> parent) {
+        return parent == null ? roots : parent.children;
+    }
+
+    private Entry<K, T> require(K id) {
+        Entry<K, T> entry = index.get(id);
+        if (entry == null) {
+            throw new UtilsRuntimeException("tree node not found: " + id);
+        }
+        return entry;
+    }
+
+    private static <K, T extends TreeNode<K>> List<T> nodes(Map<K, Entry<K, T>> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<T> nodes = new ArrayList<>(entries.size());
+        for (Entry<K, T> entry : entries.values()) {
+            nodes.add(entry.node);
+        }
+        return nodes;
+    }
+
+    private static final class Entry<K, T> {
+        private final K id;
+        private final T node;
+        private Entry<K, T> parent;
+        // 子节点按加入顺序排列，按id删除为O(1)
+        private LinkedHashMap<K, Entry<K, T>> children;
+
+        Entry(K id, T node, Entry<K, T> parent) {
+            this.id = id;
+            this.node = node;
+            this.parent = parent;
+        }
+    }
+}
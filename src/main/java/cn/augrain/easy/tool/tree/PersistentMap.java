@@ -0,0 +1,237 @@
+package cn.augrain.easy.tool.tree;
+
+/**
+ * 不可变的哈希前缀树（HAMT），修改时只复制从根到被修改位置的路径
+ * <p>
+ * 每层按哈希值的5位分支，节点用位图压缩存放非空槽位，槽位是键值对或下一层节点；
+ * 哈希值用完后的节点按顺序存放冲突的键值对。put/remove 复制 O(log n) 个节点，其余节点在新旧版本之间共享。
+ * key不能为null
+ *
+ * @author biaoy
+ * @since 2025/08/04
+ */
+final class PersistentMap<K, V> {
+
+    private static final int BITS = 5;
+
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final Node EMPTY_NODE = new Node(0, new Object[0]);
+
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(EMPTY_NODE, 0);
+
+    private final Node root;
+
+    private final int size;
+
+    private PersistentMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(Object key) {
+        int hash = hash(key);
+        Node node = root;
+        for (int shift = 0; ; shift += BITS) {
+            if (shift >= Integer.SIZE) {
+                for (Object slot : node.slots) {
+                    Leaf leaf = (Leaf) slot;
+                    if (leaf.key.equals(key)) {
+                        return (V) leaf.value;
+                    }
+                }
+                return null;
+            }
+            int bit = bit(hash, shift);
+            if ((node.bitmap & bit) == 0) {
+                return null;
+            }
+            Object slot = node.slots[node.index(bit)];
+            if (slot instanceof Leaf) {
+                Leaf leaf = (Leaf) slot;
+                return leaf.key.equals(key) ? (V) leaf.value : null;
+            }
+            node = (Node) slot;
+        }
+    }
+
+    /**
+     * 写入键值对
+     *
+     * @return 新版本，原版本不变
+     */
+    PersistentMap<K, V> put(K key, V value) {
+        int hash = hash(key);
+        boolean[] added = new boolean[1];
+        Node node = put(root, new Leaf(hash, key, value), 0, added);
+        return new PersistentMap<>(node, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * 删除键
+     *
+     * @return 新版本，键不存在时返回自身
+     */
+    PersistentMap<K, V> remove(Object key) {
+        Node node = remove(root, hash(key), key, 0);
+        if (node == root) {
+            return this;
+        }
+        return new PersistentMap<>(node == null ? EMPTY_NODE : node, size - 1);
+    }
+
+    private static Node put(Node node, Leaf leaf, int shift, boolean[] added) {
+        if (shift >= Integer.SIZE) {
+            Object[] slots = node.slots;
+            for (int i = 0; i < slots.length; i++) {
+                if (((Leaf) slots[i]).key.equals(leaf.key)) {
+                    return new Node(0, replace(slots, i, leaf));
+                }
+            }
+            added[0] = true;
+            return new Node(0, insert(slots, slots.length, leaf));
+        }
+        int bit = bit(leaf.hash, shift);
+        int index = node.index(bit);
+        if ((node.bitmap & bit) == 0) {
+            added[0] = true;
+            return new Node(node.bitmap | bit, insert(node.slots, index, leaf));
+        }
+        Object slot = node.slots[index];
+        Object replacement;
+        if (slot instanceof Leaf) {
+            Leaf existing = (Leaf) slot;
+            if (existing.key.equals(leaf.key)) {
+                replacement = leaf;
+            } else {
+                added[0] = true;
+                replacement = merge(existing, leaf, shift + BITS);
+            }
+        } else {
+            replacement = put((Node) slot, leaf, shift + BITS, added);
+        }
+        return new Node(node.bitmap, replace(node.slots, index, replacement));
+    }
+
+    private static Node merge(Leaf a, Leaf b, int shift) {
+        if (shift >= Integer.SIZE) {
+            return new Node(0, new Object[]{a, b});
+        }
+        int bitA = bit(a.hash, shift);
+        int bitB = bit(b.hash, shift);
+        if (bitA == bitB) {
+            return new Node(bitA, new Object[]{merge(a, b, shift + BITS)});
+        }
+        return new Node(bitA | bitB, Integer.compareUnsigned(bitA, bitB) < 0 ? new Object[]{a, b} : new Object[]{b, a});
+    }
+
+    /**
+     * 返回删除后的节点，未找到时返回原节点，节点为空时返回null
+     */
+    private static Node remove(Node node, int hash, Object key, int shift) {
+        if (shift >= Integer.SIZE) {
+            Object[] slots = node.slots;
+            for (int i = 0; i < slots.length; i++) {
+                if (((Leaf) slots[i]).key.equals(key)) {
+                    return slots.length == 1 ? null : new Node(0, delete(slots, i));
+                }
+            }
+            return node;
+        }
+        int bit = bit(hash, shift);
+        if ((node.bitmap & bit) == 0) {
+            return node;
+        }
+        int index = node.index(bit);
+        Object slot = node.slots[index];
+        if (slot instanceof Leaf) {
+            if (!((Leaf) slot).key.equals(key)) {
+                return node;
+            }
+            return without(node, bit, index);
+        }
+        Node child = (Node) slot;
+        Node removed = remove(child, hash, key, shift + BITS);
+        if (removed == child) {
+            return node;
+        }
+        if (removed == null) {
+            return without(node, bit, index);
+        }
+        // 只剩一个键值对的子节点上提，保持路径尽量短
+        Object replacement = removed.slots.length == 1 && removed.slots[0] instanceof Leaf ? removed.slots[0] : removed;
+        return new Node(node.bitmap, replace(node.slots, index, replacement));
+    }
+
+    private static Node without(Node node, int bit, int index) {
+        int bitmap = node.bitmap & ~bit;
+        return bitmap == 0 ? null : new Node(bitmap, delete(node.slots, index));
+    }
+
+    private static Object[] replace(Object[] slots, int index, Object value) {
+        Object[] copy = slots.clone();
+        copy[index] = value;
+        return copy;
+    }
+
+    private static Object[] insert(Object[] slots, int index, Object value) {
+        Object[] copy = new Object[slots.length + 1];
+        System.arraycopy(slots, 0, copy, 0, index);
+        copy[index] = value;
+        System.arraycopy(slots, index, copy, index + 1, slots.length - index);
+        return copy;
+    }
+
+    private static Object[] delete(Object[] slots, int index) {
+        Object[] copy = new Object[slots.length - 1];
+        System.arraycopy(slots, 0, copy, 0, index);
+        System.arraycopy(slots, index + 1, copy, index, copy.length - index);
+        return copy;
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static final class Node {
+        // 哈希值用完后的冲突节点为0，槽位按顺序存放
+        private final int bitmap;
+        private final Object[] slots;
+
+        Node(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+    }
+
+    private static final class Leaf {
+        private final int hash;
+        private final Object key;
+        private final Object value;
+
+        Leaf(int hash, Object key, Object value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package cn.augrain.easy.tool.tree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 逐个接收节点的树构建器，适合从数据库游标等来源边读边建
+ * <p>
+ * 两种模式：
+ * <ul>
+ *     <li>{@link #create(Predicate)}：节点顺序任意。父节点已到达的直接挂上，
+ *     父节点未到达的按父id暂存，父节点到达时再挂上，只缓存尚未找到父节点的节点。
+ *     结果与 {@link TreeUtils#buildTree(List, Predicate, int)} 一致：根节点按输入顺序排列，
+ *     isRoot只用于判断找不到父节点的节点是否为孤儿，重复id保留第一个并计入重复节点，父id等于自身id的节点作为根节点</li>
+ *     <li>{@link #preOrdered(Predicate)}：节点按深度优先先序到达（父节点在前且子树连续，如按路径排序），
+ *     只维护当前节点到根的祖先栈，不需要全局id索引。父节点只在祖先栈中查找，
+ *     不在栈中的节点作为根节点（不满足isRoot的计入孤儿），也不检测重复id，重复节点列表总是为空</li>
+ * </ul>
+ * 子节点按到达顺序排列。非线程安全
+ *
+ * @author biaoy
+ * @since 2025/08/02
+ */
+public abstract class StreamingTreeBuilder<T extends TreeNode<?>> implements Consumer<T> {
+
+    final Predicate<? super T> isRoot;
+
+    final List<T> roots = new ArrayList<>();
+
+    final List<T> orphans = new ArrayList<>(0);
+
+    final List<T> duplicates = new ArrayList<>(0);
+
+    private boolean finished;
+
+    StreamingTreeBuilder(Predicate<? super T> isRoot) {
+        this.isRoot = isRoot;
+    }
+
+    /**
+     * 任意顺序的构建器
+     *
+     * @param isRoot 判断节点是否为根节点，如父id为null或0
+     * @return 构建器
+     */
+    public static <T extends TreeNode<?>> StreamingTreeBuilder<T> create(Predicate<? super T> isRoot) {
+        return new Unordered<>(isRoot);
+    }
+
+    /**
+     * 深度优先先序输入的构建器，单次遍历，不建立id索引
+     *
+     * @param isRoot 判断节点是否为根节点
+     * @return 构建器
+     */
+    public static <T extends TreeNode<?>> StreamingTreeBuilder<T> preOrdered(Predicate<? super T> isRoot) {
+        return new PreOrdered<>(isRoot);
+    }
+
+    /**
+     * 接收一个节点
+     *
+     * @param node 节点
+     */
+    @Override
+    public void accept(T node) {
+        if (finished) {
+            throw new IllegalStateException("tree builder has finished");
+        }
+        add(node);
+    }
+
+    abstract void add(T node);
+
+    /**
+     * 结束构建，此后不能再接收节点
+     * <p>
+     * 仍未找到父节点的节点按到达顺序作为根节点，其中不满足isRoot的计入孤儿节点
+     *
+     * @return 构建结果
+     */
+    public TreeBuildResult<T> finish() {
+        if (!finished) {
+            finished = true;
+            complete();
+        }
+        return new TreeBuildResult<>(roots, orphans, duplicates);
+    }
+
+    void complete() {
+
+    }
+
+    void addRoot(T node) {
+        roots.add(node);
+        if (!isRoot.test(node)) {
+            orphans.add(node);
+        }
+    }
+
+    @SuppressWarnings("all")
+    static void link(TreeNode parent, TreeNode child) {
+        List children = parent.getChildren();
+        if (children == null) {
+            children = new ArrayList<>();
+            parent.setChildren(children);
+        }
+        children.add(child);
+    }
+
+    @SuppressWarnings("all")
+    static void link(TreeNode parent, List<? extends TreeNode> waiting) {
+        List children = parent.getChildren();
+        if (children == null) {
+            parent.setChildren(waiting);
+        } else {
+            children.addAll(waiting);
+        }
+    }
+
+    /**
+     * 任意顺序
+     * <p>
+     * 根节点到达时直接放入根节点列表，父节点未到达的只存放在pending中，
+     * 每个节点记录到达序号，结束时剩余的节点按序号与根节点合并，根节点顺序与输入顺序一致
+     */
+    private static final class Unordered<T extends TreeNode<?>> extends StreamingTreeBuilder<T> {
+
+        private final Map<Object, T> index = new HashMap<>();
+
+        // 父节点尚未到达的节点，按父id分组
+        private final Map<Object, Waiting<T>> pending = new HashMap<>();
+
+        // 根节点列表中每个节点的到达序号
+        private int[] rootSequences = new int[16];
+
+        private int sequence;
+
+        Unordered(Predicate<? super T> isRoot) {
+            super(isRoot);
+        }
+
+        @Override
+        void add(T node) {
+            int seq = sequence++;
+            Object id = node.id();
+            if (id != null) {
+                if (index.putIfAbsent(id, node) == null) {
+                    Waiting<T> waiting = pending.remove(id);
+                    if (waiting != null) {
+                        link(node, waiting.nodes);
+                    }
+                } else {
+                    duplicates.add(node);
+                }
+            }
+
+            Object parentId = node.parentId();
+            T parent = parentId == null ? null : index.get(parentId);
+            if (parentId == null || parent == node) {
+                // 父id等于自身id时视为根节点，避免自环
+                addRoot(node, seq);
+            } else if (parent != null) {
+                link(parent, node);
+            } else {
+                pending.computeIfAbsent(parentId, k -> new Waiting<>()).add(node, seq);
+            }
+        }
+
+        private void addRoot(T node, int seq) {
+            int size = roots.size();
+            if (size == rootSequences.length) {
+                rootSequences = Arrays.copyOf(rootSequences, size << 1);
+            }
+            rootSequences[size] = seq;
+            roots.add(node);
+        }
+
+        @Override
+        void complete() {
+            if (!pending.isEmpty()) {
+                mergePending();
+            }
+            for (T node : roots) {
+                if (!isRoot.test(node)) {
+                    orphans.add(node);
+                }
+            }
+        }
+
+        /**
+         * 仍未找到父节点的节点按到达序号排序后与根节点归并
+         */
+        private void mergePending() {
+            List<T> unresolved = new ArrayList<>();
+            long[] keys = new long[16];
+            for (Waiting<T> waiting : pending.values()) {
+                for (int i = 0; i < waiting.nodes.size(); i++) {
+                    int n = unresolved.size();
+                    if (n == keys.length) {
+                        keys = Arrays.copyOf(keys, n << 1);
+                    }
+                    // 高32位为到达序号，低32位为在unresolved中的下标
+                    keys[n] = (long) waiting.sequences[i] << 32 | n;
+                    unresolved.add(waiting.nodes.get(i));
+                }
+            }
+            pending.clear();
+            int count = unresolved.size();
+            Arrays.sort(keys, 0, count);
+
+            List<T> merged = new ArrayList<>(roots.size() + count);
+            int r = 0;
+            for (int k = 0; k < count; k++) {
+                int seq = (int) (keys[k] >>> 32);
+                while (r < roots.size() && rootSequences[r] < seq) {
+                    merged.add(roots.get(r++));
+                }
+                merged.add(unresolved.get((int) keys[k]));
+            }
+            while (r < roots.size()) {
+                merged.add(roots.get(r++));
+            }
+            roots.clear();
+            roots.addAll(merged);
+            rootSequences = null;
+        }
+    }
+
+    /**
+     * 等待同一个父节点的节点及其到达序号
+     */
+    private static final class Waiting<T> {
+        private final List<T> nodes = new ArrayList<>(1);
+        private int[] sequences = new int[1];
+
+        void add(T node, int seq) {
+            int size = nodes.size();
+            if (size == sequences.length) {
+                sequences = Arrays.copyOf(sequences, size << 1);
+            }
+            sequences[size] = seq;
+            nodes.add(node);
+        }
+    }
+
+    /**
+     * 深度优先先序
+     */
+    private static final class PreOrdered<T extends TreeNode<?>> extends StreamingTreeBuilder<T> {
+
+        // 当前节点到根的祖先栈
+        private Object[] stack = new Object[16];
+
+        private int top;
+
+        PreOrdered(Predicate<? super T> isRoot) {
+            super(isRoot);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void add(T node) {
+            Object parentId = node.parentId();
+            while (top > 0 && !Objects.equals(((T) stack[top - 1]).id(), parentId)) {
+                top--;
+            }
+            if (top > 0 && parentId != null) {
+                link((T) stack[top - 1], node);
+            } else {
+                addRoot(node);
+            }
+            if (top == stack.length) {
+                stack = Arrays.copyOf(stack, top << 1);
+            }
+            stack[top++] = node;
+        }
+
+        @Override
+        void complete() {
+            Arrays.fill(stack, 0, top, null);
+            top = 0;
+        }
+    }
+}
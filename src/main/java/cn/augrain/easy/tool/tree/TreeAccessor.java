@@ -0,0 +1,163 @@
+package cn.augrain.easy.tool.tree;
+
+import cn.augrain.easy.tool.bean.ClassMetadata;
+import cn.augrain.easy.tool.exception.UtilsRuntimeException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 反射建树时使用的id、父id、子节点访问器
+ * <p>
+ * 按 (类, id名, 父id名, 子节点名) 缓存在 {@link ClassMetadata} 上。
+ * 与直接读写字段的语义一致：优先通过字段的 {@link MethodHandle} 访问，
+ * 不会经过可能做防御性复制的getter/setter，也不会在每次调用时修改字段的可访问性；
+ * 只有没有对应字段时才使用getter/setter
+ *
+ * @author biaoy
+ * @since 2025/07/31
+ */
+final class TreeAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Function<Object, Object> id;
+
+    private final Function<Object, Object> parent;
+
+    private final Function<Object, Object> children;
+
+    private final BiConsumer<Object, Object> childrenSetter;
+
+    private TreeAccessor(Class<?> type, Key key) {
+        ClassMetadata metadata = ClassMetadata.of(type);
+        this.id = getter(metadata, key.idName);
+        this.parent = getter(metadata, key.parentName);
+        this.children = getter(metadata, key.childrenName);
+        this.childrenSetter = setter(metadata, key.childrenName);
+    }
+
+    /**
+     * 获取类的访问器
+     *
+     * @param type         节点类型
+     * @param idName       id名称
+     * @param parentName   父节点名称
+     * @param childrenName 子节点名称
+     * @return 访问器
+     */
+    static TreeAccessor of(Class<?> type, String idName, String parentName, String childrenName) {
+        return ClassMetadata.of(type).getAttachment(new Key(idName, parentName, childrenName),
+                key -> new TreeAccessor(type, key));
+    }
+
+    Object getId(Object node) {
+        return id.apply(node);
+    }
+
+    Object getParent(Object node) {
+        return parent.apply(node);
+    }
+
+    Object getChildren(Object node) {
+        return children.apply(node);
+    }
+
+    void setChildren(Object node, Object value) {
+        childrenSetter.accept(node, value);
+    }
+
+    private static Function<Object, Object> getter(ClassMetadata metadata, String name) {
+        Field field = field(metadata, name);
+        if (field == null) {
+            Function<Object, Object> getter = metadata.getPropertyGetter(name);
+            if (getter == null) {
+                throw new UtilsRuntimeException(new NoSuchFieldException(name));
+            }
+            return getter;
+        }
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new UtilsRuntimeException(e);
+        }
+        return node -> {
+            try {
+                return handle.invokeExact(node);
+            } catch (Throwable e) {
+                throw new UtilsRuntimeException(e);
+            }
+        };
+    }
+
+    private static BiConsumer<Object, Object> setter(ClassMetadata metadata, String name) {
+        Field field = field(metadata, name);
+        if (field == null) {
+            BiConsumer<Object, Object> setter = metadata.getPropertySetter(name);
+            if (setter == null) {
+                throw new UtilsRuntimeException(new NoSuchFieldException(name));
+            }
+            return setter;
+        }
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new UtilsRuntimeException(e);
+        }
+        return (node, value) -> {
+            try {
+                handle.invokeExact(node, value);
+            } catch (Throwable e) {
+                throw new UtilsRuntimeException(e);
+            }
+        };
+    }
+
+    private static Field field(ClassMetadata metadata, String name) {
+        Field field = metadata.getField(name);
+        if (field != null) {
+            // 字段是副本，只影响这里的访问
+            field.setAccessible(true);
+        }
+        return field;
+    }
+
+    private static final class Key {
+        private final String idName;
+        private final String parentName;
+        private final String childrenName;
+
+        Key(String idName, String parentName, String childrenName) {
+            this.idName = idName;
+            this.parentName = parentName;
+            this.childrenName = childrenName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return idName.equals(that.idName) && parentName.equals(that.parentName)
+                    && childrenName.equals(that.childrenName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(idName, parentName, childrenName);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package cn.augrain.easy.tool.tree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * 自底向上的树聚合，每个节点的值 = 节点自身的值依次合并各子节点的值
+ * <p>
+ * 先按先序展开并记录父节点、深度和子树区间，再从最深一层开始逐层计算，每个节点只计算一次，
+ * 子节点按原顺序合并。某一层的节点数达到并行阈值时，该层在ForkJoinPool中并行计算，
+ * 同一层的节点互不依赖，较宽的树可以充分并行，较深的链式树不会产生深层的任务嵌套
+ *
+ * @author biaoy
+ * @since 2025/08/06
+ */
+final class TreeAggregator {
+
+    private TreeAggregator() {
+
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T extends TreeNode, R> Map<T, R> aggregate(List<? extends T> roots, Function<? super T, ? extends R> leafFn,
+                                                      BinaryOperator<R> combineFn, int parallelThreshold) {
+        // 1. 先序展开，记录父节点和深度
+        List<T> nodes = new ArrayList<>();
+        int[] parents = new int[16];
+        int[] depths = new int[16];
+        int maxDepth = 0;
+        TreeWalker<T>.DepthFirstIterator iterator = TreeWalker.<T>node().depthFirst(roots);
+        while (iterator.hasNext()) {
+            T node = iterator.next();
+            int i = nodes.size();
+            if (i == parents.length) {
+                parents = Arrays.copyOf(parents, i << 1);
+                depths = Arrays.copyOf(depths, i << 1);
+            }
+            nodes.add(node);
+            parents[i] = iterator.parentIndex();
+            depths[i] = iterator.depth();
+            maxDepth = Math.max(maxDepth, depths[i]);
+        }
+        int size = nodes.size();
+
+        // 2. 子树区间 [i, ends[i])，子节点为 i+1, ends[i+1], ...
+        int[] ends = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            if (ends[i] == 0) {
+                ends[i] = i + 1;
+            }
+            int parent = parents[i];
+            if (parent >= 0 && ends[i] > ends[parent]) {
+                ends[parent] = ends[i];
+            }
+        }
+
+        // 3. 按深度分组（CSR），逐层自底向上计算
+        int[] offsets = new int[maxDepth + 2];
+        for (int i = 0; i < size; i++) {
+            offsets[depths[i] + 1]++;
+        }
+        for (int d = 0; d <= maxDepth; d++) {
+            offsets[d + 1] += offsets[d];
+        }
+        int[] levels = new int[size];
+        int[] cursor = Arrays.copyOf(offsets, maxDepth + 1);
+        for (int i = 0; i < size; i++) {
+            levels[cursor[depths[i]]++] = i;
+        }
+
+        Object[] values = new Object[size];
+        boolean parallel = TreeBuilder.parallelism() > 1;
+        for (int d = maxDepth; d >= 0; d--) {
+            int from = offsets[d];
+            int to = offsets[d + 1];
+            if (parallel && to - from >= parallelThreshold) {
+                IntStream.range(from, to).parallel()
+                        .forEach(k -> compute(levels[k], nodes, ends, values, leafFn, combineFn));
+            } else {
+                for (int k = from; k < to; k++) {
+                    compute(levels[k], nodes, ends, values, leafFn, combineFn);
+                }
+            }
+        }
+
+        Map<T, R> result = new IdentityHashMap<>(size);
+        for (int i = 0; i < size; i++) {
+            result.put(nodes.get(i), (R) values[i]);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T, R> void compute(int i, List<T> nodes, int[] ends, Object[] values,
+                                       Function<? super T, ? extends R> leafFn, BinaryOperator<R> combineFn) {
+        R value = leafFn.apply(nodes.get(i));
+        for (int child = i + 1; child < ends[i]; child = ends[child]) {
+            value = combineFn.apply(value, (R) values[child]);
+        }
+        values[i] = value;
+    }
+}
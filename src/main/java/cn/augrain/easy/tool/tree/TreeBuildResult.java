@@ -0,0 +1,59 @@
+package cn.augrain.easy.tool.tree;
+
+import java.util.List;
+
+/**
+ * 树构建结果
+ *
+ * @author biaoy
+ * @since 2025/07/30
+ */
+public final class TreeBuildResult<T> {
+
+    private final List<T> roots;
+
+    private final List<T> orphans;
+
+    private final List<T> duplicates;
+
+    TreeBuildResult(List<T> roots, List<T> orphans, List<T> duplicates) {
+        this.roots = roots;
+        this.orphans = orphans;
+        this.duplicates = duplicates;
+    }
+
+    /**
+     * 根节点，包含孤儿节点，与 {@link TreeUtils#toTree(List)} 的结果一致
+     */
+    public List<T> getRoots() {
+        return roots;
+    }
+
+    /**
+     * 孤儿节点：不是根节点，但父节点不存在
+     */
+    public List<T> getOrphans() {
+        return orphans;
+    }
+
+    /**
+     * id重复的节点，id只指向第一次出现的节点，重复节点仍会挂到其父节点下
+     */
+    public List<T> getDuplicates() {
+        return duplicates;
+    }
+
+    public boolean hasOrphans() {
+        return !orphans.isEmpty();
+    }
+
+    public boolean hasDuplicates() {
+        return !duplicates.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "TreeBuildResult{roots=" + roots.size() + ", orphans=" + orphans.size()
+                + ", duplicates=" + duplicates.size() + '}';
+    }
+}
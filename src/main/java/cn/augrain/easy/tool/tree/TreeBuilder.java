@@ -0,0 +1,223 @@
+package cn.augrain.easy.tool.tree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * {@link TreeNode} 列表的树构建
+ * <p>
+ * 分三步完成，每个节点只查找一次父节点：
+ * <ol>
+ *     <li>建立 id 到下标的索引，同时发现重复id</li>
+ *     <li>查找每个节点的父节点下标，统计每个父节点的子节点数</li>
+ *     <li>按统计结果一次分配好大小的子节点列表，按原顺序填入</li>
+ * </ol>
+ * 父id为null、在索引中找不到或等于自身id的节点作为根节点，其中不满足isRoot的计入孤儿节点。
+ * 节点数达到并行阈值时，索引、父节点查找和子节点列表创建在ForkJoinPool中并行执行，结果与串行一致。
+ * id为long时可以使用 {@link LongIndex} 代替HashMap建立索引
+ *
+ * @author biaoy
+ * @since 2025/07/30
+ */
+final class TreeBuilder {
+
+    static final int NO_PARALLEL = Integer.MAX_VALUE;
+
+    private static final int ROOT = -1;
+
+    private TreeBuilder() {
+
+    }
+
+    @SuppressWarnings("all")
+    static <T extends TreeNode> TreeBuildResult<T> build(List<T> nodes, Predicate<? super T> isRoot,
+                                                         int parallelThreshold) {
+        int size = nodes.size();
+        if (size == 0) {
+            return new TreeBuildResult<>(new ArrayList<>(0), Collections.emptyList(), Collections.emptyList());
+        }
+        boolean parallel = size >= parallelThreshold && parallelism() > 1;
+        Object[] array = nodes.toArray();
+
+        // 1. id -> 下标，重复id保留第一个，id为null的节点不能作为父节点
+        Map<Object, Integer> index;
+        List<T> duplicates = new ArrayList<>(0);
+        if (parallel) {
+            ConcurrentHashMap<Object, Integer> concurrentIndex = new ConcurrentHashMap<>(capacity(size));
+            IntStream.range(0, size).parallel()
+                    .forEach(i -> {
+                        Object id = ((TreeNode) array[i]).id();
+                        if (id != null) {
+                            concurrentIndex.merge(id, i, Math::min);
+                        }
+                    });
+            index = concurrentIndex;
+        } else {
+            index = new HashMap<>(capacity(size));
+            for (int i = 0; i < size; i++) {
+                Object id = ((TreeNode) array[i]).id();
+                if (id != null && index.putIfAbsent(id, i) != null) {
+                    duplicates.add((T) array[i]);
+                }
+            }
+        }
+
+        // 2. 父节点下标
+        int[] parents = new int[size];
+        if (parallel) {
+            IntStream.range(0, size).parallel().forEach(i -> parents[i] = parentIndex(index, (TreeNode) array[i], i));
+            for (int i = 0; i < size; i++) {
+                Object id = ((TreeNode) array[i]).id();
+                if (id != null && index.get(id) != i) {
+                    duplicates.add((T) array[i]);
+                }
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                parents[i] = parentIndex(index, (TreeNode) array[i], i);
+            }
+        }
+
+        return assemble(array, parents, isRoot, duplicates, parallel);
+    }
+
+    /**
+     * 使用long类型id构建，id索引为 {@link LongIndex}，不装箱
+     * <p>
+     * 父id在索引中找不到的节点作为根节点，其中不满足isRoot的计入孤儿节点
+     */
+    @SuppressWarnings("all")
+    static <T extends TreeNode> TreeBuildResult<T> build(List<T> nodes, ToLongFunction<? super T> idFn,
+                                                         ToLongFunction<? super T> parentIdFn,
+                                                         Predicate<? super T> isRoot, int parallelThreshold) {
+        int size = nodes.size();
+        if (size == 0) {
+            return new TreeBuildResult<>(new ArrayList<>(0), Collections.emptyList(), Collections.emptyList());
+        }
+        boolean parallel = size >= parallelThreshold && parallelism() > 1;
+        Object[] array = nodes.toArray();
+
+        // 1. id -> 下标，串行写入
+        LongIndex index = new LongIndex(size);
+        List<T> duplicates = new ArrayList<>(0);
+        for (int i = 0; i < size; i++) {
+            if (index.putIfAbsent(idFn.applyAsLong((T) array[i]), i) != LongIndex.NONE) {
+                duplicates.add((T) array[i]);
+            }
+        }
+
+        // 2. 父节点下标，只读索引，可以并行
+        int[] parents = new int[size];
+        if (parallel) {
+            IntStream.range(0, size).parallel()
+                    .forEach(i -> parents[i] = parentIndex(index, (T) array[i], i, parentIdFn));
+        } else {
+            for (int i = 0; i < size; i++) {
+                parents[i] = parentIndex(index, (T) array[i], i, parentIdFn);
+            }
+        }
+        return assemble(array, parents, isRoot, duplicates, parallel);
+    }
+
+    @SuppressWarnings("all")
+    private static <T extends TreeNode> TreeBuildResult<T> assemble(Object[] array, int[] parents,
+                                                                    Predicate<? super T> isRoot, List<T> duplicates,
+                                                                    boolean parallel) {
+        int size = array.length;
+        // 3. 统计子节点数，按父节点分段存放子节点下标（CSR）
+        int[] offsets = new int[size + 1];
+        List<T> roots = new ArrayList<>();
+        List<T> orphans = new ArrayList<>(0);
+        for (int i = 0; i < size; i++) {
+            int parent = parents[i];
+            if (parent == ROOT) {
+                T node = (T) array[i];
+                roots.add(node);
+                if (!isRoot.test(node)) {
+                    orphans.add(node);
+                }
+            } else {
+                offsets[parent + 1]++;
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] children = new int[offsets[size]];
+        int[] cursor = Arrays.copyOf(offsets, size);
+        for (int i = 0; i < size; i++) {
+            int parent = parents[i];
+            if (parent != ROOT) {
+                children[cursor[parent]++] = i;
+            }
+        }
+
+        // 4. 挂载子节点，各父节点互不影响
+        if (parallel) {
+            IntStream.range(0, size).parallel().forEach(p -> link(array, p, offsets, children));
+        } else {
+            for (int p = 0; p < size; p++) {
+                link(array, p, offsets, children);
+            }
+        }
+        return new TreeBuildResult<>(roots, orphans, duplicates);
+    }
+
+    private static <T> int parentIndex(LongIndex index, T node, int self, ToLongFunction<? super T> parentIdFn) {
+        int parent = index.get(parentIdFn.applyAsLong(node));
+        // 父id等于自身id时视为根节点，避免自环
+        return parent == self ? ROOT : parent;
+    }
+
+    @SuppressWarnings("all")
+    private static int parentIndex(Map<Object, Integer> index, TreeNode node, int self) {
+        Object parentId = node.parentId();
+        Integer parent = parentId == null ? null : index.get(parentId);
+        // 父id等于自身id时视为根节点，避免自环
+        return parent == null || parent == self ? ROOT : parent;
+    }
+
+    @SuppressWarnings("all")
+    private static void link(Object[] array, int parent, int[] offsets, int[] children) {
+        int from = offsets[parent];
+        int to = offsets[parent + 1];
+        if (from == to) {
+            return;
+        }
+        TreeNode node = (TreeNode) array[parent];
+        List list = node.getChildren();
+        if (list == null) {
+            list = new ArrayList<>(to - from);
+            node.setChildren(list);
+        } else if (list instanceof ArrayList) {
+            ((ArrayList) list).ensureCapacity(list.size() + to - from);
+        }
+        for (int i = from; i < to; i++) {
+            list.add(array[children[i]]);
+        }
+    }
+
+    /**
+     * 当前可用的并行度
+     * <p>
+     * 在ForkJoinPool的工作线程中调用时，并行流在该池中执行，取该池的并行度；否则取公共池的并行度
+     */
+    static int parallelism() {
+        ForkJoinPool pool = ForkJoinTask.getPool();
+        return pool != null ? pool.getParallelism() : ForkJoinPool.getCommonPoolParallelism();
+    }
+
+    private static int capacity(int size) {
+        return (int) (size / 0.75f + 1.0f);
+    }
+}
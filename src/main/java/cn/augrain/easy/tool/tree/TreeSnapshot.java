@@ -0,0 +1,246 @@
+package cn.augrain.easy.tool.tree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link MutableTree} 发布的不可变快照
+ * <p>
+ * 每个节点对应一条不可变记录（节点、父id、按顺序排列的子节点id），记录按id存放在 {@link PersistentMap} 中。
+ * 发布新快照时只替换发生变化的记录，未变化的记录和哈希树路径在新旧快照之间共享，
+ * 发布耗时与变化的节点数（及其父节点的子节点数）成正比，与树的大小无关。
+ * <p>
+ * 按id查询为 O(log n)，按父节点回溯的查询与深度成正比；
+ * 需要大量子树区间查询时使用 {@link #indexed()}，首次调用时按先序生成 {@link IndexedTree} 并缓存在快照上。
+ * 快照可在多个线程间共享
+ *
+ * @author biaoy
+ * @since 2025/08/04
+ */
+public final class TreeSnapshot<K, T extends TreeNode<K>> {
+
+    static final Object[] NO_CHILDREN = new Object[0];
+
+    private static final TreeSnapshot<?, ?> EMPTY = new TreeSnapshot<>(PersistentMap.empty(), NO_CHILDREN);
+
+    private final PersistentMap<K, Record<K, T>> records;
+
+    // 根节点id，按插入顺序
+    private final Object[] roots;
+
+    private volatile IndexedTree<K, T> indexed;
+
+    TreeSnapshot(PersistentMap<K, Record<K, T>> records, Object[] roots) {
+        this.records = records;
+        this.roots = roots;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, T extends TreeNode<K>> TreeSnapshot<K, T> empty() {
+        return (TreeSnapshot<K, T>) EMPTY;
+    }
+
+    PersistentMap<K, Record<K, T>> records() {
+        return records;
+    }
+
+    Object[] rootIds() {
+        return roots;
+    }
+
+    /**
+     * 节点的记录，未变化的节点在新旧快照中是同一个对象
+     */
+    Record<K, T> record(K id) {
+        return records.get(id);
+    }
+
+    public int size() {
+        return records.size();
+    }
+
+    public boolean contains(K id) {
+        return records.get(id) != null;
+    }
+
+    /**
+     * 按id获取节点
+     *
+     * @param id 节点id
+     * @return 节点，不存在时返回null
+     */
+    public T get(K id) {
+        Record<K, T> record = records.get(id);
+        return record == null ? null : record.node;
+    }
+
+    /**
+     * 获取父节点
+     *
+     * @param id 节点id
+     * @return 父节点，根节点或节点不存在时返回null
+     */
+    public T getParent(K id) {
+        Record<K, T> record = records.get(id);
+        return record == null || record.parent == null ? null : get(record.parent);
+    }
+
+    /**
+     * 获取直接子节点，按插入或移入的顺序
+     *
+     * @param id 节点id
+     * @return 子节点，节点不存在时返回空列表
+     */
+    public List<T> getChildren(K id) {
+        Record<K, T> record = records.get(id);
+        return record == null ? Collections.emptyList() : nodes(record.children);
+    }
+
+    public List<T> getRoots() {
+        return nodes(roots);
+    }
+
+    /**
+     * 获取深度
+     *
+     * @param id 节点id
+     * @return 深度，根节点为0，节点不存在时返回-1
+     */
+    public int getDepth(K id) {
+        Record<K, T> record = records.get(id);
+        if (record == null) {
+            return -1;
+        }
+        int depth = 0;
+        for (; record.parent != null; record = records.get(record.parent)) {
+            depth++;
+        }
+        return depth;
+    }
+
+    /**
+     * 从节点到根节点的路径，第一个元素为节点自身
+     *
+     * @param id 节点id
+     * @return 路径，节点不存在时返回空列表
+     */
+    public List<T> pathToRoot(K id) {
+        List<T> path = new ArrayList<>();
+        for (Record<K, T> record = records.get(id); record != null;
+             record = record.parent == null ? null : records.get(record.parent)) {
+            path.add(record.node);
+        }
+        return path;
+    }
+
+    /**
+     * ancestor是否为descendant的祖先（不含自身），任一节点不存在时返回false
+     *
+     * @param ancestor   祖先id
+     * @param descendant 后代id
+     * @return 是否为祖先
+     */
+    public boolean isAncestor(K ancestor, K descendant) {
+        Record<K, T> record = records.get(descendant);
+        while (record != null && record.parent != null) {
+            if (record.parent.equals(ancestor)) {
+                return true;
+            }
+            record = records.get(record.parent);
+        }
+        return false;
+    }
+
+    /**
+     * 按先序编号的索引，首次调用时生成，耗时与节点数成正比
+     *
+     * @return 索引
+     */
+    public IndexedTree<K, T> indexed() {
+        IndexedTree<K, T> current = indexed;
+        if (current == null) {
+            // 快照不可变，并发时重复生成的结果相同
+            current = buildIndexed();
+            indexed = current;
+        }
+        return current;
+    }
+
+    @SuppressWarnings("unchecked")
+    private IndexedTree<K, T> buildIndexed() {
+        int size = records.size();
+        Object[] nodes = new Object[size];
+        int[] parents = new int[size];
+        int[] depths = new int[size];
+        int[] ends = new int[size];
+        Map<K, Integer> positions = new HashMap<>(size * 4 / 3 + 1);
+
+        // 先序遍历，栈中保存子节点id数组和下一个下标，出栈时即可确定子树区间的结束位置
+        ArrayDeque<Object[]> stack = new ArrayDeque<>();
+        int[] cursors = new int[16];
+        int[] path = new int[16];
+        int count = 0;
+        stack.push(roots);
+        while (!stack.isEmpty()) {
+            Object[] ids = stack.peek();
+            int depth = stack.size() - 1;
+            if (cursors[depth] == ids.length) {
+                stack.pop();
+                cursors[depth] = 0;
+                if (depth > 0) {
+                    ends[path[depth - 1]] = count;
+                }
+                continue;
+            }
+            K id = (K) ids[cursors[depth]++];
+            Record<K, T> record = records.get(id);
+            nodes[count] = record.node;
+            parents[count] = depth == 0 ? -1 : path[depth - 1];
+            depths[count] = depth;
+            ends[count] = count + 1;
+            positions.put(id, count);
+            if (record.children.length > 0) {
+                if (depth + 1 == cursors.length) {
+                    cursors = Arrays.copyOf(cursors, cursors.length << 1);
+                    path = Arrays.copyOf(path, path.length << 1);
+                }
+                path[depth] = count;
+                stack.push(record.children);
+            }
+            count++;
+        }
+        return new IndexedTree<>(nodes, parents, depths, ends, positions, Collections.unmodifiableList(nodes(roots)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<T> nodes(Object[] ids) {
+        if (ids.length == 0) {
+            return Collections.emptyList();
+        }
+        List<T> nodes = new ArrayList<>(ids.length);
+        for (Object id : ids) {
+            nodes.add(records.get(id).node);
+        }
+        return nodes;
+    }
+
+    /**
+     * 节点记录，创建后不再修改
+     */
+    static final class Record<K, T> {
+        private final T node;
+        private final K parent;
+        private final Object[] children;
+
+        Record(T node, K parent, Object[] children) {
+            this.node = node;
+            this.parent = parent;
+            this.children = children;
+        }
+    }
+}
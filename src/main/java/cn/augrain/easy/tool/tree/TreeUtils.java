@@ -1,16 +1,16 @@
 package cn.augrain.easy.tool.tree;
 
-import cn.augrain.easy.tool.bean.ClassUtils;
-import cn.augrain.easy.tool.collection.CollectionUtils;
 import cn.augrain.easy.tool.collection.MapUtils;
 import cn.augrain.easy.tool.collection.SetUtils;
 import cn.augrain.easy.tool.core.StringUtils;
 import lombok.extern.slf4j.Slf4j;
 
-import java.lang.reflect.Field;
 import java.util.*;
+import java.util.function.BinaryOperator;
 import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
 
 /**
  * 树生成
@@ -25,28 +25,126 @@ public class TreeUtils {
 
     }
 
+    /**
+     * 将节点列表转换为树结构
+     * <p>
+     * 父节点不存在的节点作为根节点返回；id重复时子节点挂到第一个节点下
+     *
+     * @param nodes 节点列表
+     * @return 根节点列表
+     */
     @SuppressWarnings("all")
     public static <T extends TreeNode> List<T> toTree(List<T> nodes) {
         if (nodes.isEmpty()) {
             return nodes;
         }
+        return buildTree(nodes).getRoots();
+    }
 
-        List<T> result = new ArrayList<>();
-        Map<?, T> nodeMap = nodes.stream().collect(Collectors.toMap(TreeNode::id, Function.identity(), (k1, k2) -> k1));
+    /**
+     * 将节点列表转换为树结构，同时返回孤儿节点和重复id的节点
+     * <p>
+     * 父id为null的节点视为根节点，其余找不到父节点的节点计入孤儿节点
+     *
+     * @param nodes 节点列表
+     * @return 构建结果
+     */
+    @SuppressWarnings("all")
+    public static <T extends TreeNode> TreeBuildResult<T> buildTree(List<T> nodes) {
+        return TreeBuilder.build(nodes, node -> node.parentId() == null, TreeBuilder.NO_PARALLEL);
+    }
 
-        for (T node : nodes) {
-            if (nodeMap.containsKey(node.parentId())) {
-                Object parentId = node.parentId();
-                if (nodeMap.get(parentId).getChildren() == null) {
-                    List<T> children = new ArrayList<>();
-                    nodeMap.get(parentId).setChildren(children);
-                }
-                nodeMap.get(parentId).getChildren().add(node);
-            } else {
-                result.add(node);
-            }
+    /**
+     * 将节点列表转换为树结构，节点数达到阈值时并行构建
+     *
+     * @param nodes             节点列表
+     * @param isRoot            判断节点是否为根节点，如父id为0的节点；找不到父节点且不是根节点的计入孤儿节点
+     * @param parallelThreshold 并行阈值，在ForkJoinPool中调用时在该池中并行，否则使用公共池
+     * @return 构建结果，与串行构建一致
+     */
+    @SuppressWarnings("all")
+    public static <T extends TreeNode> TreeBuildResult<T> buildTree(List<T> nodes, Predicate<? super T> isRoot,
+                                                                    int parallelThreshold) {
+        return TreeBuilder.build(nodes, isRoot, parallelThreshold);
+    }
+
+    /**
+     * 使用long类型id将节点列表转换为树结构，id不装箱，适合节点数很多的场景
+     * <p>
+     * 父id找不到对应节点的作为根节点，如父id为0
+     *
+     * @param nodes      节点列表
+     * @param idFn       获取id，如 {@code MenuVO::getId}
+     * @param parentIdFn 获取父id，父id为null的节点需要映射为不存在的id，如0
+     * @return 根节点列表
+     */
+    @SuppressWarnings("all")
+    public static <T extends TreeNode> List<T> toTree(List<T> nodes, ToLongFunction<? super T> idFn,
+                                                      ToLongFunction<? super T> parentIdFn) {
+        if (nodes.isEmpty()) {
+            return nodes;
         }
-        return result;
+        return TreeBuilder.build(nodes, idFn, parentIdFn, node -> true, TreeBuilder.NO_PARALLEL).getRoots();
+    }
+
+    /**
+     * 使用long类型id将节点列表转换为树结构，节点数达到阈值时并行查找父节点和挂载子节点
+     *
+     * @param nodes             节点列表
+     * @param idFn              获取id
+     * @param parentIdFn        获取父id
+     * @param isRoot            判断节点是否为根节点；找不到父节点且不是根节点的计入孤儿节点
+     * @param parallelThreshold 并行阈值，在ForkJoinPool中调用时在该池中并行，否则使用公共池
+     * @return 构建结果
+     */
+    @SuppressWarnings("all")
+    public static <T extends TreeNode> TreeBuildResult<T> buildTree(List<T> nodes, ToLongFunction<? super T> idFn,
+                                                                    ToLongFunction<? super T> parentIdFn,
+                                                                    Predicate<? super T> isRoot,
+                                                                    int parallelThreshold) {
+        return TreeBuilder.build(nodes, idFn, parentIdFn, isRoot, parallelThreshold);
+    }
+
+    /**
+     * 从迭代器逐个读取节点建树，节点顺序任意，只缓存尚未找到父节点的节点
+     *
+     * @param nodes  节点迭代器，如数据库游标
+     * @param isRoot 判断节点是否为根节点
+     * @return 构建结果
+     * @see StreamingTreeBuilder#create(Predicate)
+     */
+    public static <T extends TreeNode<?>> TreeBuildResult<T> buildTree(Iterator<? extends T> nodes,
+                                                                       Predicate<? super T> isRoot) {
+        StreamingTreeBuilder<T> builder = StreamingTreeBuilder.create(isRoot);
+        nodes.forEachRemaining(builder);
+        return builder.finish();
+    }
+
+    /**
+     * 从流中逐个读取节点建树，节点顺序任意
+     *
+     * @param nodes  节点流
+     * @param isRoot 判断节点是否为根节点
+     * @return 构建结果
+     */
+    public static <T extends TreeNode<?>> TreeBuildResult<T> buildTree(Stream<? extends T> nodes,
+                                                                       Predicate<? super T> isRoot) {
+        return buildTree(nodes.iterator(), isRoot);
+    }
+
+    /**
+     * 从按深度优先先序排列（父节点在前且子树连续）的节点迭代器建树，单次遍历，不建立id索引
+     *
+     * @param nodes  节点迭代器
+     * @param isRoot 判断节点是否为根节点
+     * @return 构建结果
+     * @see StreamingTreeBuilder#preOrdered(Predicate)
+     */
+    public static <T extends TreeNode<?>> TreeBuildResult<T> buildPreOrderedTree(Iterator<? extends T> nodes,
+                                                                                 Predicate<? super T> isRoot) {
+        StreamingTreeBuilder<T> builder = StreamingTreeBuilder.preOrdered(isRoot);
+        nodes.forEachRemaining(builder);
+        return builder.finish();
     }
 
     /**
@@ -58,59 +156,44 @@ public class TreeUtils {
      * @param childrenName 子节点名称
      * @return 转换后的节点树
      */
+    @SuppressWarnings("unchecked")
     public static <T> List<T> toTree(List<T> collection, String idName, String parentName, String childrenName) {
-        try {
-            if (collection == null || collection.isEmpty()) {
-                return Collections.emptyList();
-            }
-            if (StringUtils.isEmpty(idName)) {
-                idName = "id";
-            }
-            if (StringUtils.isEmpty(parentName)) {
-                parentName = "parent";
-            }
-            if (StringUtils.isEmpty(childrenName)) {
-                childrenName = "children";
-            }
+        if (collection == null || collection.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (StringUtils.isEmpty(idName)) {
+            idName = "id";
+        }
+        if (StringUtils.isEmpty(parentName)) {
+            parentName = "parent";
+        }
+        if (StringUtils.isEmpty(childrenName)) {
+            childrenName = "children";
+        }
 
-            // 获取目标类
-            Class<?> clazz = collection.get(0).getClass();
-            Field idField = ClassUtils.getField(idName, clazz);
-            Field parentField = ClassUtils.getField(parentName, clazz);
-            Field childrenField = ClassUtils.getField(childrenName, clazz);
-
-            // 设置为可访问
-            idField.setAccessible(true);
-            parentField.setAccessible(true);
-            childrenField.setAccessible(true);
-
-            Map<Object, T> idMap = new HashMap<>();
-            for (T t : collection) {
-                Object id = idField.get(t);
-                idMap.put(id, t);
-            }
+        // 访问器按类和属性名缓存
+        TreeAccessor accessor = TreeAccessor.of(collection.get(0).getClass(), idName, parentName, childrenName);
 
-            List<T> roots = new ArrayList<>();
-            for (T t : collection) {
-                Object pid = parentField.get(t);
-                if (idMap.containsKey(pid)) {
-                    Object child = childrenField.get(idMap.get(pid));
-                    if (child == null) {
-                        childrenField.set(idMap.get(pid), new ArrayList<T>());
-                    }
-                    List<T> children = (List<T>) childrenField.get(idMap.get(pid));
-                    children.add(t);
-                } else {
-                    roots.add(t);
+        Map<Object, T> idMap = new HashMap<>(collection.size() * 4 / 3 + 1);
+        for (T t : collection) {
+            idMap.put(accessor.getId(t), t);
+        }
+
+        List<T> roots = new ArrayList<>();
+        for (T t : collection) {
+            T parent = idMap.get(accessor.getParent(t));
+            if (parent != null) {
+                List<T> children = (List<T>) accessor.getChildren(parent);
+                if (children == null) {
+                    children = new ArrayList<>();
+                    accessor.setChildren(parent, children);
                 }
+                children.add(t);
+            } else {
+                roots.add(t);
             }
-            idField.setAccessible(false);
-            parentField.setAccessible(false);
-            childrenField.setAccessible(false);
-            return roots;
-        } catch (Exception e) {
-            throw new RuntimeException(e);
         }
+        return roots;
     }
 
     /**
@@ -149,6 +232,190 @@ public class TreeUtils {
         return roots;
     }
 
+    /**
+     * 深度优先（先序）遍历，使用显式栈，不受树深度限制
+     *
+     * @param roots 根节点列表
+     * @return 惰性迭代器
+     */
+    public static <T extends TreeNode> Iterator<T> depthFirst(List<? extends T> roots) {
+        return TreeWalker.<T>node().depthFirst(roots);
+    }
+
+    /**
+     * 广度优先（层序）遍历
+     *
+     * @param roots 根节点列表
+     * @return 惰性迭代器
+     */
+    public static <T extends TreeNode> Iterator<T> breadthFirst(List<? extends T> roots) {
+        return TreeWalker.<T>node().breadthFirst(roots);
+    }
+
+    /**
+     * 深度优先（先序）遍历的惰性流
+     *
+     * @param roots 根节点列表
+     * @return 节点流
+     */
+    public static <T extends TreeNode> Stream<T> stream(List<? extends T> roots) {
+        return TreeWalker.stream(depthFirst(roots));
+    }
+
+    /**
+     * 广度优先（层序）遍历的惰性流
+     *
+     * @param roots 根节点列表
+     * @return 节点流
+     */
+    public static <T extends TreeNode> Stream<T> breadthFirstStream(List<? extends T> roots) {
+        return TreeWalker.stream(breadthFirst(roots));
+    }
+
+    /**
+     * 按深度优先先序将树展开为列表
+     *
+     * @param roots 根节点列表
+     * @return 所有节点
+     */
+    public static <T extends TreeNode> List<T> flatten(List<? extends T> roots) {
+        return TreeWalker.<T>node().flatten(roots);
+    }
+
+    /**
+     * 保留满足条件的节点及其到根的路径，其余节点去掉
+     * <p>
+     * 原地修改节点的子节点列表
+     *
+     * @param roots     根节点列表
+     * @param predicate 条件
+     * @return 过滤后的根节点列表
+     */
+    public static <T extends TreeNode> List<T> filter(List<? extends T> roots, Predicate<? super T> predicate) {
+        return TreeWalker.<T>node().filter(roots, predicate);
+    }
+
+    /**
+     * 去掉满足条件的节点及其整个子树
+     * <p>
+     * 原地修改节点的子节点列表
+     *
+     * @param roots     根节点列表
+     * @param predicate 条件
+     * @return 剪枝后的根节点列表
+     */
+    public static <T extends TreeNode> List<T> prune(List<? extends T> roots, Predicate<? super T> predicate) {
+        return TreeWalker.<T>node().prune(roots, predicate);
+    }
+
+    /**
+     * 自底向上聚合，一次遍历计算每个节点的值，如子树合计、子树节点数
+     * <p>
+     * 节点的值 = leafFn(节点) 依次与各子节点的值做 combineFn，叶子节点的值即 leafFn(节点)。
+     * 例如统计子树人数：{@code aggregate(roots, Dept::getHeadcount, Integer::sum)}
+     *
+     * @param roots     根节点列表
+     * @param leafFn    节点自身的值
+     * @param combineFn 合并子节点的值，参数依次为当前累计值、子节点的值
+     * @return 节点到聚合值的映射，按对象标识区分节点
+     */
+    public static <T extends TreeNode, R> Map<T, R> aggregate(List<? extends T> roots,
+                                                             Function<? super T, ? extends R> leafFn,
+                                                             BinaryOperator<R> combineFn) {
+        return TreeAggregator.aggregate(roots, leafFn, combineFn, TreeBuilder.NO_PARALLEL);
+    }
+
+    /**
+     * 自底向上聚合，同一层的节点数达到阈值时该层并行计算，适合较宽的树
+     * <p>
+     * 并行时leafFn和combineFn会在多个线程中同时调用，需要无副作用
+     *
+     * @param roots             根节点列表
+     * @param leafFn            节点自身的值
+     * @param combineFn         合并子节点的值
+     * @param parallelThreshold 并行阈值，在ForkJoinPool中调用时在该池中并行，否则使用公共池
+     * @return 节点到聚合值的映射，与串行结果一致
+     */
+    public static <T extends TreeNode, R> Map<T, R> aggregate(List<? extends T> roots,
+                                                             Function<? super T, ? extends R> leafFn,
+                                                             BinaryOperator<R> combineFn, int parallelThreshold) {
+        return TreeAggregator.aggregate(roots, leafFn, combineFn, parallelThreshold);
+    }
+
+    /**
+     * Map树的深度优先（先序）遍历，子节点key为 "children"
+     *
+     * @param roots 根节点列表
+     * @return 惰性迭代器
+     */
+    public static Iterator<Map<String, Object>> depthFirstMap(List<Map<String, Object>> roots) {
+        return TreeWalker.map().depthFirst(roots);
+    }
+
+    /**
+     * Map树的广度优先（层序）遍历
+     *
+     * @param roots 根节点列表
+     * @return 惰性迭代器
+     */
+    public static Iterator<Map<String, Object>> breadthFirstMap(List<Map<String, Object>> roots) {
+        return TreeWalker.map().breadthFirst(roots);
+    }
+
+    /**
+     * Map树深度优先（先序）遍历的惰性流
+     *
+     * @param roots 根节点列表
+     * @return 节点流
+     */
+    public static Stream<Map<String, Object>> streamMap(List<Map<String, Object>> roots) {
+        return TreeWalker.stream(depthFirstMap(roots));
+    }
+
+    /**
+     * Map树广度优先（层序）遍历的惰性流
+     *
+     * @param roots 根节点列表
+     * @return 节点流
+     */
+    public static Stream<Map<String, Object>> breadthFirstStreamMap(List<Map<String, Object>> roots) {
+        return TreeWalker.stream(breadthFirstMap(roots));
+    }
+
+    /**
+     * 按深度优先先序将Map树展开为列表
+     *
+     * @param roots 根节点列表
+     * @return 所有节点
+     */
+    public static List<Map<String, Object>> flattenMap(List<Map<String, Object>> roots) {
+        return TreeWalker.map().flatten(roots);
+    }
+
+    /**
+     * 保留Map树中满足条件的节点及其到根的路径，原地修改 "children"
+     *
+     * @param roots     根节点列表
+     * @param predicate 条件
+     * @return 过滤后的根节点列表
+     */
+    public static List<Map<String, Object>> filterMap(List<Map<String, Object>> roots,
+                                                      Predicate<? super Map<String, Object>> predicate) {
+        return TreeWalker.map().filter(roots, predicate);
+    }
+
+    /**
+     * 去掉Map树中满足条件的节点及其整个子树，原地修改 "children"
+     *
+     * @param roots     根节点列表
+     * @param predicate 条件
+     * @return 剪枝后的根节点列表
+     */
+    public static List<Map<String, Object>> pruneMap(List<Map<String, Object>> roots,
+                                                     Predicate<? super Map<String, Object>> predicate) {
+        return TreeWalker.map().prune(roots, predicate);
+    }
+
     public static void print(List<? extends TreeNode> treeNodes) {
         if (treeNodes == null || treeNodes.isEmpty()) {
             return;
@@ -158,19 +425,14 @@ public class TreeUtils {
 
     @SuppressWarnings("all")
     public static void print(List<? extends TreeNode> treeNodes, int depth) {
-        for (TreeNode treeNode : treeNodes) {
-            String padding = "";
-            if (depth > 0) {
-                padding = StringUtils.repeat(" ", depth * 4);
-            }
-            log.info(padding + treeNode.toString());
-
-            if (treeNode.getChildren() != null) {
-                List<? extends TreeNode> children = treeNode.getChildren();
-                if (CollectionUtils.isNotEmpty(children)) {
-                    print(children, depth + 1);
-                }
-            }
+        if (treeNodes == null || treeNodes.isEmpty()) {
+            return;
+        }
+        Indent indent = new Indent();
+        TreeWalker<TreeNode>.DepthFirstIterator iterator = TreeWalker.<TreeNode>node().depthFirst(treeNodes);
+        while (iterator.hasNext()) {
+            TreeNode treeNode = iterator.next();
+            log.info(indent.of(depth + iterator.depth()) + treeNode.toString());
         }
     }
 
@@ -185,19 +447,27 @@ public class TreeUtils {
         if (treeNodes == null || treeNodes.isEmpty()) {
             return;
         }
-        for (Map<String, Object> treeNode : treeNodes) {
-            String padding = "";
-            if (depth > 0) {
-                padding = StringUtils.repeat(" ", depth * 4);
-            }
-            log.info(padding + MapUtils.toString(treeNode, SetUtils.of("children")));
+        Set<String> ignoreKeys = SetUtils.of(TreeWalker.CHILDREN);
+        Indent indent = new Indent();
+        TreeWalker<Map<String, Object>>.DepthFirstIterator iterator = TreeWalker.map().depthFirst(treeNodes);
+        while (iterator.hasNext()) {
+            Map<String, Object> treeNode = iterator.next();
+            log.info(indent.of(depth + iterator.depth()) + MapUtils.toString(treeNode, ignoreKeys));
+        }
+    }
 
-            if (treeNode.get("children") != null) {
-                List<Map<String, Object>> children = (List<Map<String, Object>>) treeNode.get("children");
-                if (CollectionUtils.isNotEmpty(children)) {
-                    printMap(children, depth + 1);
-                }
+    /**
+     * 打印时按深度缓存缩进
+     */
+    private static final class Indent {
+
+        private final List<String> cache = new ArrayList<>();
+
+        String of(int depth) {
+            while (cache.size() <= depth) {
+                cache.add(StringUtils.repeat(" ", cache.size() * 4));
             }
+            return cache.get(depth);
         }
     }
 }
@@ -0,0 +1,267 @@
+package cn.augrain.easy.tool.tree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 树的遍历、展开、过滤和剪枝
+ * <p>
+ * 全部使用显式栈/队列，树的深度不受线程栈大小限制。
+ * 通过子节点的读写函数同时支持 {@link TreeNode} 和以 "children" 为子节点key的Map树
+ *
+ * @author biaoy
+ * @since 2025/08/03
+ */
+final class TreeWalker<T> {
+
+    static final String CHILDREN = "children";
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final TreeWalker<TreeNode> NODE = new TreeWalker<>(
+            node -> (List<TreeNode>) node.getChildren(), (node, children) -> node.setChildren((List) children));
+
+    @SuppressWarnings("unchecked")
+    private static final TreeWalker<Map<String, Object>> MAP = new TreeWalker<>(
+            map -> (List<Map<String, Object>>) map.get(CHILDREN), (map, children) -> map.put(CHILDREN, children));
+
+    private final Function<T, List<T>> childrenGetter;
+
+    private final BiConsumer<T, List<T>> childrenSetter;
+
+    private TreeWalker(Function<T, List<T>> childrenGetter, BiConsumer<T, List<T>> childrenSetter) {
+        this.childrenGetter = childrenGetter;
+        this.childrenSetter = childrenSetter;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <T extends TreeNode> TreeWalker<T> node() {
+        return (TreeWalker) NODE;
+    }
+
+    static TreeWalker<Map<String, Object>> map() {
+        return MAP;
+    }
+
+    private List<T> children(T node) {
+        List<T> children = childrenGetter.apply(node);
+        return children == null ? Collections.emptyList() : children;
+    }
+
+    /**
+     * 深度优先（先序）迭代器
+     */
+    DepthFirstIterator depthFirst(List<? extends T> roots) {
+        return new DepthFirstIterator(roots);
+    }
+
+    /**
+     * 广度优先（层序）迭代器
+     */
+    Iterator<T> breadthFirst(List<? extends T> roots) {
+        ArrayDeque<T> queue = new ArrayDeque<>(roots);
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return !queue.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                T node = queue.poll();
+                if (node == null) {
+                    throw new NoSuchElementException();
+                }
+                queue.addAll(children(node));
+                return node;
+            }
+        };
+    }
+
+    static <T> Stream<T> stream(Iterator<T> iterator) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * 按深度优先先序展开为列表
+     */
+    List<T> flatten(List<? extends T> roots) {
+        List<T> nodes = new ArrayList<>();
+        depthFirst(roots).forEachRemaining(nodes::add);
+        return nodes;
+    }
+
+    /**
+     * 保留满足条件的节点及其所有祖先节点，原地修改子节点列表
+     * <p>
+     * 满足条件的节点下，不满足条件且没有满足条件后代的子节点同样被去掉
+     */
+    List<T> filter(List<? extends T> roots, Predicate<? super T> predicate) {
+        // 先序展开并记录父节点下标，逆序处理时子节点一定先于父节点
+        List<T> nodes = new ArrayList<>();
+        int[] parents = new int[16];
+        DepthFirstIterator iterator = depthFirst(roots);
+        while (iterator.hasNext()) {
+            T node = iterator.next();
+            if (nodes.size() == parents.length) {
+                parents = Arrays.copyOf(parents, parents.length << 1);
+            }
+            parents[nodes.size()] = iterator.parentIndex();
+            nodes.add(node);
+        }
+
+        int size = nodes.size();
+        boolean[] keep = new boolean[size];
+        for (int i = size - 1; i >= 0; i--) {
+            if (keep[i] || predicate.test(nodes.get(i))) {
+                keep[i] = true;
+                if (parents[i] >= 0) {
+                    keep[parents[i]] = true;
+                }
+            }
+        }
+
+        List<T> result = new ArrayList<>();
+        List<List<T>> kept = new ArrayList<>(Collections.nCopies(size, null));
+        for (int i = 0; i < size; i++) {
+            T node = nodes.get(i);
+            if (childrenGetter.apply(node) != null) {
+                kept.set(i, new ArrayList<>());
+            }
+            if (!keep[i]) {
+                continue;
+            }
+            if (parents[i] < 0) {
+                result.add(node);
+            } else {
+                kept.get(parents[i]).add(node);
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            List<T> children = kept.get(i);
+            if (keep[i] && children != null && children.size() != childrenGetter.apply(nodes.get(i)).size()) {
+                childrenSetter.accept(nodes.get(i), children);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 去掉满足条件的节点及其整个子树，原地修改子节点列表
+     */
+    List<T> prune(List<? extends T> roots, Predicate<? super T> predicate) {
+        List<T> result = without(roots, predicate);
+        ArrayDeque<T> stack = new ArrayDeque<>(result);
+        while (!stack.isEmpty()) {
+            T node = stack.pop();
+            List<T> children = childrenGetter.apply(node);
+            if (children == null || children.isEmpty()) {
+                continue;
+            }
+            List<T> remaining = without(children, predicate);
+            if (remaining != children) {
+                childrenSetter.accept(node, remaining);
+            }
+            for (T child : remaining) {
+                stack.push(child);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 没有节点被去掉时返回原列表
+     */
+    @SuppressWarnings("unchecked")
+    private List<T> without(List<? extends T> nodes, Predicate<? super T> predicate) {
+        List<T> remaining = null;
+        for (int i = 0, size = nodes.size(); i < size; i++) {
+            T node = nodes.get(i);
+            if (predicate.test(node)) {
+                if (remaining == null) {
+                    remaining = new ArrayList<>(nodes.subList(0, i));
+                }
+            } else if (remaining != null) {
+                remaining.add(node);
+            }
+        }
+        return remaining == null ? (List<T>) nodes : remaining;
+    }
+
+    /**
+     * 深度优先先序迭代器，使用子节点迭代器栈，可获取当前节点的深度
+     */
+    final class DepthFirstIterator implements Iterator<T> {
+
+        private final ArrayDeque<Iterator<? extends T>> stack = new ArrayDeque<>();
+
+        // 与stack对应的父节点先序下标，用于filter
+        private final ArrayDeque<Integer> owners = new ArrayDeque<>();
+
+        private int depth = -1;
+
+        private int parentIndex = -1;
+
+        private int count;
+
+        DepthFirstIterator(List<? extends T> roots) {
+            if (!roots.isEmpty()) {
+                stack.push(roots.iterator());
+                owners.push(-1);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!stack.isEmpty() && !stack.peek().hasNext()) {
+                stack.pop();
+                owners.pop();
+            }
+            return !stack.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T node = stack.peek().next();
+            depth = stack.size() - 1;
+            parentIndex = owners.peek();
+            int index = count++;
+            List<T> children = childrenGetter.apply(node);
+            if (children != null && !children.isEmpty()) {
+                stack.push(children.iterator());
+                owners.push(index);
+            }
+            return node;
+        }
+
+        /**
+         * 上一次返回节点的深度，根节点为0
+         */
+        int depth() {
+            return depth;
+        }
+
+        /**
+         * 上一次返回节点的父节点在先序中的下标，根节点为-1
+         */
+        int parentIndex() {
+            return parentIndex;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package cn.augrain.easy.tool.bean;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * @author biaoy
+ * @since 2025/07/18
+ */
+@GenerateMapper(source = UserDTO.class, target = User.class)
+@GenerateMapper(source = Order.class, target = OrderDTO.class)
+public class BeanMapperTest {
+
+    @Test
+    public void testGeneratedMapper() {
+        GeneratedMapper<UserDTO, User> mapper = GeneratedMappers.get(UserDTO.class, User.class);
+        Assert.assertNotNull(mapper);
+        Assert.assertEquals("UserDTOToUserMapper", mapper.getClass().getSimpleName());
+
+        UserDTO dto = new UserDTO();
+        dto.setId(1L);
+        dto.setAge(30);
+        dto.setScore(60.5);
+        dto.setName("generated");
+
+        User user = BeanMapper.map(dto, User.class);
+        Assert.assertEquals(1L, user.getId());
+        Assert.assertEquals(Integer.valueOf(30), user.getAge());
+        Assert.assertEquals(60.5, user.getScore(), 0);
+        Assert.assertEquals("generated", user.getName());
+
+        // null不覆盖目标值
+        user.setRemark("keep");
+        BeanMapper.map(new UserDTO(), user);
+        Assert.assertEquals("keep", user.getRemark());
+        Assert.assertEquals("generated", user.getName());
+    }
+
+    @Test
+    public void testOrikaFallback() {
+        User user = new User();
+        user.setId(2L);
+        user.setName("orika");
+        UserDTO dto = BeanMapper.map(user, UserDTO.class);
+        Assert.assertNull(GeneratedMappers.get(User.class, UserDTO.class));
+        Assert.assertEquals(Long.valueOf(2L), dto.getId());
+        Assert.assertEquals("orika", dto.getName());
+    }
+
+    /**
+     * 存在需要转换的嵌套属性时，生成的映射器不完整，仍然使用orika
+     */
+    @Test
+    public void testIncompleteGeneratedMapper() {
+        Assert.assertNull(GeneratedMappers.get(Order.class, OrderDTO.class));
+        Assert.assertTrue(GeneratedMappers.loaded().stream()
+                .anyMatch(mapper -> mapper.sourceType() == Order.class && !mapper.isComplete()));
+
+        User user = new User();
+        user.setId(3L);
+        user.setName("nested");
+        Order order = new Order();
+        order.setId(1L);
+        order.setCode("A001");
+        order.setUser(user);
+
+        OrderDTO dto = BeanMapper.map(order, OrderDTO.class);
+        Assert.assertEquals("A001", dto.getCode());
+        Assert.assertNotNull(dto.getUser());
+        Assert.assertEquals("nested", dto.getUser().getName());
+    }
+
+    @Test
+    public void testPreload() {
+        List<PreloadResult> results = BeanMapper.preload(UserDTO.class, User.class, User.class, UserDTO.class);
+        Assert.assertEquals(2, results.size());
+        Assert.assertEquals(PreloadResult.BACKEND_GENERATED, results.get(0).getBackend());
+        Assert.assertEquals(PreloadResult.BACKEND_ORIKA, results.get(1).getBackend());
+        Assert.assertTrue(results.get(1).isSuccess());
+        Assert.assertSame(BeanMapper.getType(User.class), BeanMapper.getType(User.class));
+
+        List<PreloadResult> generated = BeanMapper.preloadGenerated();
+        Assert.assertEquals(2, generated.size());
+        for (PreloadResult result : generated) {
+            Assert.assertTrue(result.isSuccess());
+            Assert.assertTrue(result.getElapsedNanos() > 0);
+        }
+        System.out.println(generated);
+    }
+}
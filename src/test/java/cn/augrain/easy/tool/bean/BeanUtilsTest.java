@@ -0,0 +1,209 @@
+package cn.augrain.easy.tool.bean;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * @author biaoy
+ * @since 2025/07/05
+ */
+public class BeanUtilsTest {
+
+    @Test
+    public void testCopyProperties() {
+        UserDTO dto = new UserDTO();
+        dto.setId(10L);
+        dto.setAge(18);
+        dto.setScore(99.5);
+        dto.setName("jack");
+
+        User user = new User();
+        user.setRemark("keep");
+        BeanUtils.copyProperties(dto, user, true);
+
+        Assert.assertEquals(10L, user.getId());
+        Assert.assertEquals(Integer.valueOf(18), user.getAge());
+        Assert.assertEquals(99.5, user.getScore(), 0);
+        Assert.assertEquals("jack", user.getName());
+        // 源对象值为null时不覆盖
+        Assert.assertEquals("keep", user.getRemark());
+    }
+
+    @Test
+    public void testCopyPropertiesWithNull() {
+        UserDTO dto = new UserDTO();
+        User user = new User();
+        user.setRemark("keep");
+        user.setId(1L);
+        BeanUtils.copyProperties(dto, user, false, "name");
+
+        Assert.assertNull(user.getRemark());
+        Assert.assertEquals(Integer.valueOf(0), user.getAge());
+        // null不能写入基本类型
+        Assert.assertEquals(1L, user.getId());
+    }
+
+    @Test
+    public void testBeanCopier() {
+        BeanCopier copier = BeanCopier.create(UserDTO.class, User.class, true, "name");
+        UserDTO dto = new UserDTO();
+        dto.setId(3L);
+        dto.setName("tom");
+
+        User user = new User();
+        copier.copy(dto, user);
+        Assert.assertEquals(3L, user.getId());
+        Assert.assertNull(user.getName());
+    }
+
+    @Test
+    public void testCopyPlanStats() {
+        BeanUtils.clearCopyPlanCache();
+        for (int i = 0; i < 10; i++) {
+            BeanUtils.copy(new UserDTO(), User.class);
+            BeanUtils.copyProperties(new UserDTO(), new User(), true, "remark", "name");
+        }
+        CopyPlanStats stats = BeanUtils.getCopyPlanStats();
+        System.out.println(stats);
+        Assert.assertEquals(2, stats.getMissCount());
+        Assert.assertEquals(18, stats.getHitCount());
+        Assert.assertEquals(2, stats.getSize());
+
+        BeanUtils.clearCopyPlanCache();
+        Assert.assertEquals(0, BeanUtils.getCopyPlanStats().getSize());
+        BeanUtils.copy(new UserDTO(), User.class);
+        stats = BeanUtils.getCopyPlanStats();
+        Assert.assertEquals(1, stats.getMissCount());
+        Assert.assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    public void testCopyPlanStatsConcurrent() throws Exception {
+        BeanUtils.clearCopyPlanCache();
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 100; j++) {
+                    BeanUtils.copy(new UserDTO(), User.class);
+                    BeanUtils.copyProperties(new UserDTO(), new User(), true, "remark", "name");
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        CopyPlanStats stats = BeanUtils.getCopyPlanStats();
+        Assert.assertEquals(1600, stats.getHitCount() + stats.getMissCount());
+        Assert.assertEquals(2, stats.getSize());
+    }
+
+    @Test
+    public void testCopyListParallel() {
+        List<UserDTO> dtos = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            UserDTO dto = new UserDTO();
+            dto.setId((long) i);
+            dto.setName("user" + i);
+            dtos.add(dto);
+        }
+        List<User> users = BeanUtils.copyList(dtos, User.class, 1000);
+        Assert.assertEquals(dtos.size(), users.size());
+        for (int i = 0; i < users.size(); i++) {
+            Assert.assertEquals(i, users.get(i).getId());
+            Assert.assertEquals("user" + i, users.get(i).getName());
+        }
+
+        List<User> mapped = BeanMapper.mapList(dtos, User.class, 1000);
+        Assert.assertEquals(dtos.size(), mapped.size());
+        Assert.assertEquals("user19999", mapped.get(19999).getName());
+    }
+
+    @Test
+    public void testCopyListInCallerPool() throws Exception {
+        List<Integer> sources = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            sources.add(i);
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        Set<ForkJoinPool> pools = ConcurrentHashMap.newKeySet();
+        try {
+            List<String> targets = pool.submit(() -> BatchCopier.<Integer, String>mapList(sources, () -> i -> {
+                pools.add(ForkJoinTask.getPool());
+                return String.valueOf(i);
+            }, 1000)).get();
+            Assert.assertEquals("19999", targets.get(19999));
+        } finally {
+            pool.shutdown();
+        }
+        // 在调用方所在的池中执行，不转到公共池
+        Assert.assertEquals(Collections.singleton(pool), pools);
+    }
+
+    @Test
+    public void testToMap() {
+        UserDTO dto = new UserDTO();
+        dto.setId(7L);
+        dto.setAge(20);
+        dto.setName("rose");
+
+        Map<String, Object> map = BeanUtils.toMap(dto);
+        System.out.println(map);
+        Assert.assertEquals(5, map.size());
+        Assert.assertEquals(7L, map.get("id"));
+        Assert.assertEquals(20, map.get("age"));
+        Assert.assertNull(map.get("remark"));
+
+        map.put("age", "21");
+        map.put("unknown", 1);
+        UserDTO copy = BeanUtils.fromMap(map, UserDTO.class);
+        Assert.assertEquals(Long.valueOf(7L), copy.getId());
+        Assert.assertEquals(21, copy.getAge());
+        Assert.assertEquals("rose", copy.getName());
+    }
+
+    @Test
+    public void testAsMap() {
+        UserDTO dto = new UserDTO();
+        dto.setName("lily");
+
+        Map<String, Object> view = BeanUtils.asMap(dto);
+        Assert.assertEquals("lily", view.get("name"));
+        Assert.assertTrue(view.containsKey("remark"));
+        Assert.assertFalse(view.containsKey("class"));
+
+        // 视图反映bean的当前值
+        dto.setName("lucy");
+        Assert.assertEquals("lucy", view.get("name"));
+        Assert.assertEquals(BeanUtils.toMap(dto), view);
+        System.out.println(view);
+    }
+
+    @Test
+    public void testCopyNonPublicBean() {
+        Hidden hidden = new Hidden();
+        hidden.setName("hidden");
+        User user = BeanUtils.copy(hidden, User.class);
+        Assert.assertEquals("hidden", user.getName());
+    }
+}
+
+/**
+ * 非public类，getter/setter无法编译为lambda
+ */
+@Getter
+@Setter
+class Hidden {
+    private String name;
+}
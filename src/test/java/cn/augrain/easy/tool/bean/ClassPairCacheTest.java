@@ -0,0 +1,102 @@
+package cn.augrain.easy.tool.bean;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+
+/**
+ * @author biaoy
+ * @since 2025/07/10
+ */
+public class ClassPairCacheTest {
+
+    @Test
+    public void testSameValue() {
+        ClassPairCache<Object[]> cache = new ClassPairCache<>((s, t) -> new Object[]{s, t});
+        Assert.assertSame(cache.get(User.class, UserDTO.class), cache.get(User.class, UserDTO.class));
+        Assert.assertNotSame(cache.get(User.class, UserDTO.class), cache.get(UserDTO.class, User.class));
+        Assert.assertSame(cache.get(String.class, UserDTO.class), cache.get(String.class, UserDTO.class));
+    }
+
+    /**
+     * 源类型在独立的类加载器中，目标类型长期存活，缓存不能阻止源类型的类加载器被回收
+     */
+    @Test
+    public void testSourceLoaderCollectable() throws Exception {
+        ClassPairCache<Object[]> cache = new ClassPairCache<>((s, t) -> new Object[]{s, t});
+        WeakReference<ClassLoader> loader = loadAndCache(cache);
+        for (int i = 0; i < 50 && loader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        Assert.assertNull(loader.get());
+    }
+
+    private static WeakReference<ClassLoader> loadAndCache(ClassPairCache<Object[]> cache) throws Exception {
+        IsolatedLoader loader = new IsolatedLoader();
+        Class<?> isolated = loader.loadClass(Isolated.class.getName());
+        Assert.assertNotSame(Isolated.class, isolated);
+
+        cache.get(isolated, UserDTO.class);
+        Object source = isolated.getConstructor().newInstance();
+        isolated.getMethod("setId", Long.class).invoke(source, 7L);
+        UserDTO target = new UserDTO();
+        BeanUtils.copyProperties(source, target, false);
+        Assert.assertEquals(7L, target.getId().longValue());
+        return new WeakReference<>(loader);
+    }
+
+    public static class Isolated {
+        private Long id;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * 自行定义 {@link Isolated}，其余类委托给父加载器
+     */
+    private static final class IsolatedLoader extends ClassLoader {
+
+        IsolatedLoader() {
+            super(ClassPairCacheTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!Isolated.class.getName().equals(name)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded != null) {
+                    return loaded;
+                }
+                byte[] bytes = read(name.replace('.', '/') + ".class");
+                return defineClass(name, bytes, 0, bytes.length);
+            }
+        }
+
+        private byte[] read(String resource) throws ClassNotFoundException {
+            try (InputStream in = getParent().getResourceAsStream(resource)) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                for (int n; (n = in.read(buffer)) > 0; ) {
+                    out.write(buffer, 0, n);
+                }
+                return out.toByteArray();
+            } catch (IOException | NullPointerException e) {
+                throw new ClassNotFoundException(resource, e);
+            }
+        }
+    }
+}
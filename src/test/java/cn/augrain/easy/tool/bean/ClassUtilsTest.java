@@ -0,0 +1,35 @@
+package cn.augrain.easy.tool.bean;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+
+/**
+ * @author biaoy
+ * @since 2025/07/10
+ */
+public class ClassUtilsTest {
+
+    @Test
+    public void testGetField() throws Exception {
+        Field first = ClassUtils.getField("name", UserDTO.class);
+        first.setAccessible(true);
+        first.setAccessible(false);
+
+        // 每次返回副本，互不影响
+        Field second = ClassUtils.getField("name", UserDTO.class);
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(first, second);
+        second.setAccessible(true);
+        UserDTO dto = new UserDTO();
+        second.set(dto, "copy");
+        Assert.assertEquals("copy", dto.getName());
+        Assert.assertFalse(ClassUtils.getField("name", UserDTO.class).isAccessible());
+    }
+
+    @Test(expected = NoSuchFieldException.class)
+    public void testMissingField() throws Exception {
+        ClassUtils.getField("missing", UserDTO.class);
+    }
+}
@@ -0,0 +1,176 @@
+package cn.augrain.easy.tool.bean;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @author biaoy
+ * @since 2025/07/15
+ */
+public class DeepClonerTest {
+
+    @Test
+    public void testDeepClone() {
+        Config root = new Config();
+        root.setName("root");
+        root.setPort(8080);
+        root.setTimeout(1500L);
+        root.setCreateTime(LocalDateTime.now());
+        root.setTags(new ArrayList<>(Arrays.asList("a", "b")));
+        root.setWeights(new int[]{1, 2, 3});
+
+        Config child = new Config();
+        child.setName("child");
+        child.setParent(root);
+        Map<String, Config> children = new TreeMap<>();
+        children.put("child", child);
+        root.setChildren(children);
+
+        Config copy = DeepCloner.clone(root);
+        Assert.assertNotSame(root, copy);
+        Assert.assertEquals("root", copy.getName());
+        Assert.assertEquals(8080, copy.getPort());
+        Assert.assertEquals(1500L, copy.getTimeout());
+        Assert.assertSame(root.getCreateTime(), copy.getCreateTime());
+        Assert.assertEquals(root.getTags(), copy.getTags());
+        Assert.assertNotSame(root.getTags(), copy.getTags());
+        Assert.assertArrayEquals(root.getWeights(), copy.getWeights());
+        Assert.assertNotSame(root.getWeights(), copy.getWeights());
+        Assert.assertTrue(copy.getChildren() instanceof TreeMap);
+
+        // 循环引用指向拷贝后的对象
+        Config childCopy = copy.getChildren().get("child");
+        Assert.assertNotSame(child, childCopy);
+        Assert.assertSame(copy, childCopy.getParent());
+    }
+
+    @Test
+    public void testCloneCollections() {
+        List<Object> list = new ArrayList<>();
+        Config config = new Config();
+        list.add(config);
+        list.add(config);
+        list.add(Collections.unmodifiableList(Arrays.asList(1, 2)));
+
+        List<Object> copy = DeepCloner.clone(list);
+        Assert.assertEquals(3, copy.size());
+        Assert.assertNotSame(config, copy.get(0));
+        // 共享引用保持共享
+        Assert.assertSame(copy.get(0), copy.get(1));
+        Assert.assertEquals(Arrays.asList(1, 2), copy.get(2));
+    }
+
+    @Test
+    public void testCloneObjectArray() {
+        Config config = new Config();
+        config.setName("element");
+        List<String> tags = new ArrayList<>(Collections.singletonList("a"));
+        Object[] array = {config, tags, "text", config};
+
+        Object[] copy = DeepCloner.clone(array);
+        Assert.assertNotSame(array, copy);
+        Assert.assertNotSame(config, copy[0]);
+        Assert.assertEquals("element", ((Config) copy[0]).getName());
+        Assert.assertNotSame(tags, copy[1]);
+        Assert.assertEquals(tags, copy[1]);
+        Assert.assertSame("text", copy[2]);
+        Assert.assertSame(copy[0], copy[3]);
+    }
+
+    @Test
+    public void testCloneMutableJdkTypes() {
+        Date date = new Date();
+        AtomicLong counter = new AtomicLong(5);
+        AtomicReference<Config> reference = new AtomicReference<>(new Config());
+        Object[] array = {date, counter, reference, new StringBuilder("sb")};
+
+        Object[] copy = DeepCloner.clone(array);
+        Assert.assertNotSame(date, copy[0]);
+        Assert.assertEquals(date, copy[0]);
+        Assert.assertNotSame(counter, copy[1]);
+        Assert.assertEquals(5, ((AtomicLong) copy[1]).get());
+        Assert.assertNotSame(reference.get(), ((AtomicReference<?>) copy[2]).get());
+        Assert.assertEquals("sb", copy[3].toString());
+        Assert.assertNotSame(array[3], copy[3]);
+    }
+
+    @Test
+    public void testCloneDeepChain() {
+        Config head = new Config();
+        Config tail = head;
+        for (int i = 1; i < 10000; i++) {
+            Config next = new Config();
+            next.setPort(i);
+            tail.setParent(next);
+            tail = next;
+        }
+        tail.setChildren(new HashMap<>(Collections.singletonMap("head", head)));
+
+        Config copy = DeepCloner.clone(head);
+        Config node = copy;
+        for (int i = 1; i < 10000; i++) {
+            node = node.getParent();
+            Assert.assertEquals(i, node.getPort());
+        }
+        Assert.assertNull(node.getParent());
+        Assert.assertSame(copy, node.getChildren().get("head"));
+    }
+
+    @Test
+    public void testCloneHashedElements() {
+        // 元素在加入副本集合前已经拷贝完整，哈希值与源元素一致
+        Set<Key> set = new HashSet<>(Arrays.asList(new Key("a"), new Key("b")));
+        Map<Key, Key> map = new HashMap<>();
+        map.put(new Key("c"), new Key("d"));
+
+        Object[] copy = DeepCloner.clone(new Object[]{set, map});
+        Set<?> setCopy = (Set<?>) copy[0];
+        Assert.assertTrue(setCopy.contains(new Key("a")));
+        Assert.assertTrue(setCopy.contains(new Key("b")));
+        Assert.assertEquals(new Key("d"), ((Map<?, ?>) copy[1]).get(new Key("c")));
+    }
+
+    @Getter
+    @Setter
+    public static class Key {
+        private List<String> parts = new ArrayList<>();
+
+        public Key() {
+
+        }
+
+        Key(String part) {
+            parts.add(part);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && parts.equals(((Key) o).parts);
+        }
+
+        @Override
+        public int hashCode() {
+            return parts.hashCode();
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+        private String name;
+        private int port;
+        private long timeout;
+        private LocalDateTime createTime;
+        private List<String> tags;
+        private int[] weights;
+        private Config parent;
+        private Map<String, Config> children;
+    }
+}
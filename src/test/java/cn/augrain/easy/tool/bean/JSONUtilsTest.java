@@ -0,0 +1,192 @@
+package cn.augrain.easy.tool.bean;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * @author biaoy
+ * @since 2025/07/23
+ */
+public class JSONUtilsTest {
+
+    private static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("user" + id);
+        return user;
+    }
+
+    @Test
+    public void testStreamArray() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = JSONUtils.writeJsonArray(LongStream.rangeClosed(1, 1000).mapToObj(JSONUtilsTest::user), out);
+        Assert.assertEquals(1000, count);
+
+        try (Stream<User> stream = JSONUtils.streamFromJson(new ByteArrayInputStream(out.toByteArray()), User.class)) {
+            List<User> users = stream.collect(Collectors.toList());
+            Assert.assertEquals(1000, users.size());
+            Assert.assertEquals(1000L, users.get(999).getId());
+            Assert.assertEquals("user1", users.get(0).getName());
+        }
+    }
+
+    @Test
+    public void testStreamNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JSONUtils.writeNdjson(Stream.of(user(1), user(2), user(3)), out);
+        String ndjson = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        System.out.println(ndjson);
+        Assert.assertEquals(3, ndjson.split("\n").length);
+        Assert.assertTrue(ndjson.endsWith("\n"));
+
+        try (MappingIterator<User> iterator = JSONUtils.iteratorFromJson(
+                new ByteArrayInputStream(out.toByteArray()), User.class)) {
+            long id = 0;
+            while (iterator.hasNext()) {
+                Assert.assertEquals(++id, iterator.next().getId());
+            }
+            Assert.assertEquals(3, id);
+        }
+    }
+
+    @Test
+    public void testCodec() {
+        Assert.assertSame(JSONUtils.codec(User.class), JSONUtils.codec(User.class));
+        Assert.assertSame(JSONUtils.listCodec(User.class), JSONUtils.listCodec(User.class));
+
+        JsonCodec<List<User>> codec = JSONUtils.listCodec(User.class);
+        String json = codec.toJson(LongStream.rangeClosed(1, 3).mapToObj(JSONUtilsTest::user)
+                .collect(Collectors.toList()));
+        List<User> users = codec.fromJson(json);
+        Assert.assertEquals(3, users.size());
+        Assert.assertEquals(User.class, users.get(0).getClass());
+
+        JsonCodec<Map<String, List<User>>> mapCodec = JSONUtils.codec(new TypeReference<Map<String, List<User>>>() {
+        });
+        Assert.assertSame(mapCodec, JSONUtils.codec(new TypeReference<Map<String, List<User>>>() {
+        }));
+        Map<String, List<User>> map = mapCodec.fromJson("{\"a\":" + json + "}");
+        Assert.assertEquals(2L, map.get("a").get(1).getId());
+        Assert.assertNull(codec.fromJson("{bad"));
+    }
+
+    @Test
+    public void testBytes() {
+        User user = user(7);
+        byte[] bytes = JSONUtils.toBytes(user);
+        Assert.assertEquals(JSONUtils.toString(user), new String(bytes, StandardCharsets.UTF_8));
+
+        byte[] padded = new byte[bytes.length + 4];
+        System.arraycopy(bytes, 0, padded, 2, bytes.length);
+        Assert.assertEquals(7L, JSONUtils.fromBytes(padded, 2, bytes.length, User.class).getId());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        Assert.assertEquals("user7", JSONUtils.fromByteBuffer(direct, User.class).getName());
+        Assert.assertEquals(0, direct.position());
+
+        JsonBuffer buffer = JSONUtils.toBuffer(user);
+        Assert.assertSame(buffer, JSONUtils.toBuffer(user(8)));
+        Assert.assertEquals(8L, JSONUtils.fromByteBuffer(buffer.toByteBuffer(), User.class).getId());
+
+        JsonCodec<User> codec = JSONUtils.codec(User.class);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.writeTo(user, out);
+        codec.writeTo(user, out);
+        Assert.assertEquals(bytes.length * 2, out.size());
+        Assert.assertEquals(7L, codec.fromBytes(out.toByteArray(), bytes.length, bytes.length).getId());
+    }
+
+    @Test
+    public void testExtract() {
+        String json = "{\"code\":0,\"data\":{\"total\":3,\"items\":[{\"id\":1,\"tags\":[\"a\"]},"
+                + "{\"id\":2,\"extra\":{\"id\":9}},{\"id\":3}]},\"trace\":[1,2,3]}";
+        List<Object> ids = JSONUtils.extract(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)),
+                "$.data.items[*].id");
+        System.out.println(ids);
+        Assert.assertEquals(3, ids.size());
+        Assert.assertEquals(1, ids.get(0));
+
+        Assert.assertEquals(Long.valueOf(2), JSONUtils.extract(json, "$.data.items[1].id", Long.class).get(0));
+        Assert.assertEquals(3, JSONUtils.extract(json, "$['data'].total", Integer.class).get(0).intValue());
+        Assert.assertEquals("a", JSONUtils.extract(json, "$.data.items[0].tags[0]", String.class).get(0));
+        Assert.assertEquals(2, JSONUtils.extract(json, "$.data.*", Object.class).size());
+        Assert.assertTrue(JSONUtils.extract(json, "$.data.missing", Object.class).isEmpty());
+
+        List<User> users = JSONUtils.extract(json, "$.data.items[*]", User.class);
+        Assert.assertEquals(3L, users.get(2).getId());
+    }
+
+    @Test
+    public void testBinaryFormat() {
+        List<User> users = LongStream.rangeClosed(1, 100).mapToObj(JSONUtilsTest::user).collect(Collectors.toList());
+        byte[] json = JSONUtils.toBytes(users);
+        for (DataFormat format : new DataFormat[]{DataFormat.SMILE, DataFormat.CBOR}) {
+            byte[] bytes = JSONUtils.toBytes(users, format);
+            System.out.println(format + ": " + bytes.length + " bytes, json: " + json.length + " bytes");
+            Assert.assertTrue(bytes.length < json.length);
+
+            JsonCodec<List<User>> codec = JSONUtils.codec(JSONUtils.listCodec(User.class).getType(), format);
+            List<User> result = codec.fromBytes(bytes, 0, bytes.length);
+            Assert.assertEquals(100, result.size());
+            Assert.assertEquals("user100", result.get(99).getName());
+
+            LocalDateTime now = LocalDateTime.of(2025, 7, 28, 12, 30, 0);
+            Assert.assertEquals(now, JSONUtils.fromBytes(JSONUtils.toBytes(now, format), LocalDateTime.class, format));
+            Assert.assertSame(JSONUtils.codec(User.class, format), JSONUtils.codec(User.class, format));
+        }
+        Assert.assertNotSame(JSONUtils.codec(User.class), JSONUtils.codec(User.class, DataFormat.SMILE));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testBinaryCodecText() {
+        JSONUtils.codec(User.class, DataFormat.CBOR).toJson(user(1));
+    }
+
+    @Test
+    public void testEngine() {
+        String json = "{id:1,'name':'engine',unknown:true}";
+        Assert.assertEquals("engine", JSONUtils.getEngine().fromJson(json, User.class).getName());
+
+        JsonEngine strict = JsonEngine.builder()
+                .lenient(false)
+                .accelerator(JsonEngine.Accelerator.AUTO)
+                .preload(User.class)
+                .build();
+        System.out.println(strict);
+        Assert.assertNull(strict.fromJson(json, User.class));
+        Assert.assertNull(strict.fromJson("{\"id\":1,\"unknown\":true}", User.class));
+        Assert.assertEquals(1L, strict.fromJson("{\"id\":1}", User.class).getId());
+        Assert.assertNotSame(strict.codec(User.class), JSONUtils.codec(User.class));
+        Assert.assertEquals(JSONUtils.toString(user(1)), strict.toJson(user(1)));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testDeprecatedInstanceMethods() {
+        JSONUtils utils = new JSONUtils();
+        Assert.assertEquals("old", utils.fromJson("{\"name\":\"old\"}", User.class).getName());
+        Assert.assertEquals(2, utils.listFromJson("[{\"id\":1},{\"id\":2}]", User.class).size());
+
+        // 返回同一个分离的副本，修改不影响默认引擎
+        ObjectMapper copy = utils.getObjectMapper();
+        Assert.assertSame(copy, new JSONUtils().getObjectMapper());
+        copy.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, true);
+        Assert.assertNotNull(JSONUtils.getEngine().fromJson("{\"id\":1,\"unknown\":true}", User.class));
+    }
+}
@@ -0,0 +1,44 @@
+package cn.augrain.easy.tool.bean;
+
+import cn.augrain.easy.tool.time.LocalDateTimeUtils;
+
+import java.time.LocalDateTime;
+
+/**
+ * DateTimeFormatter与 {@link LocalDateTimeCodec} 的格式化、解析耗时对比，手动运行，不参与单元测试
+ *
+ * @author biaoy
+ * @since 2025/07/26
+ */
+public class LocalDateTimeCodecBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        LocalDateTime[] values = new LocalDateTime[n];
+        String[] texts = new String[n];
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0, 0);
+        for (int i = 0; i < n; i++) {
+            values[i] = base.plusSeconds(i * 37L);
+            texts[i] = LocalDateTimeCodec.format(values[i]);
+        }
+        // 前几轮为预热
+        for (int round = 0; round < 5; round++) {
+            long blackhole = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                blackhole += LocalDateTimeUtils.format(values[i], LocalDateTimeUtils.NORM_DATETIME_PATTERN).length();
+                blackhole += LocalDateTimeUtils.parse(texts[i]).getSecond();
+            }
+            long formatter = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                blackhole += LocalDateTimeCodec.format(values[i]).length();
+                blackhole += LocalDateTimeCodec.parse(texts[i]).getSecond();
+            }
+            long codec = System.nanoTime() - start;
+            System.out.println("round " + round + ": DateTimeFormatter " + formatter / n + "ns/op, codec "
+                    + codec / n + "ns/op (" + blackhole + ")");
+        }
+    }
+}
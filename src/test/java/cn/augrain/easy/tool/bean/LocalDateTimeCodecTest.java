@@ -0,0 +1,49 @@
+package cn.augrain.easy.tool.bean;
+
+import cn.augrain.easy.tool.time.LocalDateTimeUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * @author biaoy
+ * @since 2025/07/26
+ */
+public class LocalDateTimeCodecTest {
+
+    @Test
+    public void testCompatible() {
+        Random random = new Random(1);
+        for (int i = 0; i < 10000; i++) {
+            LocalDateTime dateTime = LocalDateTime.of(1900 + random.nextInt(300), 1 + random.nextInt(12),
+                    1 + random.nextInt(28), random.nextInt(24), random.nextInt(60), random.nextInt(60));
+            String expected = LocalDateTimeUtils.format(dateTime, LocalDateTimeUtils.NORM_DATETIME_PATTERN);
+            Assert.assertEquals(expected, LocalDateTimeCodec.format(dateTime));
+            Assert.assertEquals(LocalDateTimeUtils.parse(expected), LocalDateTimeCodec.parse(expected));
+        }
+        // 无效日期按DateTimeFormatter的规则处理
+        Assert.assertEquals(LocalDateTimeUtils.parse("2024-02-30 10:00:00"),
+                LocalDateTimeCodec.parse("2024-02-30 10:00:00"));
+        Assert.assertNull(LocalDateTimeCodec.parse("2024-0a-01 10:00:00".toCharArray(), 0, 19));
+
+        LocalDateTime dateTime = LocalDateTime.of(2025, 7, 26, 8, 5, 9, 123);
+        String json = JSONUtils.toString(dateTime);
+        Assert.assertEquals("\"2025-07-26 08:05:09\"", json);
+        Assert.assertEquals(dateTime.withNano(0), JSONUtils.codec(LocalDateTime.class).fromJson(json));
+    }
+
+    @Test
+    public void testYearOutOfRange() {
+        for (int year : new int[]{0, -1, -2025, 1, 9999, 10000}) {
+            LocalDateTime dateTime = LocalDateTime.of(year, 3, 4, 5, 6, 7);
+            String expected = LocalDateTimeUtils.format(dateTime, LocalDateTimeUtils.NORM_DATETIME_PATTERN);
+            Assert.assertEquals(expected, LocalDateTimeCodec.format(dateTime));
+            Assert.assertEquals(expected, JSONUtils.toString(dateTime).replace("\"", ""));
+        }
+        Assert.assertEquals("0001-03-04 05:06:07", LocalDateTimeCodec.format(LocalDateTime.of(0, 3, 4, 5, 6, 7)));
+        Assert.assertNull(LocalDateTimeCodec.parse("0000-03-04 05:06:07".toCharArray(), 0, 19));
+        Assert.assertEquals(LocalDateTime.of(1, 3, 4, 5, 6, 7), LocalDateTimeCodec.parse("0001-03-04 05:06:07"));
+    }
+}
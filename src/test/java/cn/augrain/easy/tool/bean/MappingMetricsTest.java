@@ -0,0 +1,64 @@
+package cn.augrain.easy.tool.bean;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author biaoy
+ * @since 2025/07/22
+ */
+public class MappingMetricsTest {
+
+    @After
+    public void tearDown() {
+        MappingInstrumentation.setMetrics(null);
+        MappingInstrumentation.setTrackAllocation(false);
+    }
+
+    @Test
+    public void testRecord() {
+        InMemoryMappingMetrics metrics = new InMemoryMappingMetrics();
+        MappingInstrumentation.setMetrics(metrics);
+        MappingInstrumentation.setTrackAllocation(true);
+
+        User user = new User();
+        user.setId(1L);
+        user.setName("metrics");
+        for (int i = 0; i < 10; i++) {
+            BeanUtils.copy(user, UserDTO.class);
+        }
+        List<User> users = new ArrayList<>();
+        users.add(user);
+        BeanUtils.copyList(users, UserDTO.class);
+        BeanMapper.map(user, UserDTO.class, (s, c) -> new UserDTO());
+
+        List<MappingStats> snapshot = metrics.snapshot();
+        snapshot.forEach(System.out::println);
+        Assert.assertEquals(3, snapshot.size());
+
+        MappingStats copy = find(snapshot, "BeanUtils.copy");
+        Assert.assertEquals(10, copy.getCount());
+        Assert.assertEquals(User.class.getName(), copy.getSourceClass());
+        Assert.assertEquals(UserDTO.class.getName(), copy.getTargetClass());
+        Assert.assertTrue(copy.getMaxNanos() > 0);
+        Assert.assertTrue(copy.getTotalNanos() >= copy.getMaxNanos());
+        Assert.assertEquals(1, find(snapshot, "BeanUtils.copyList").getCount());
+        Assert.assertEquals(1, find(snapshot, "BeanMappingHandler.map").getCount());
+
+        metrics.reset();
+        Assert.assertTrue(metrics.snapshot().isEmpty());
+
+        // 关闭后不再记录
+        MappingInstrumentation.setMetrics(null);
+        BeanUtils.copy(user, UserDTO.class);
+        Assert.assertTrue(metrics.snapshot().isEmpty());
+    }
+
+    private static MappingStats find(List<MappingStats> snapshot, String operation) {
+        return snapshot.stream().filter(s -> s.getOperation().equals(operation)).findFirst().orElse(null);
+    }
+}
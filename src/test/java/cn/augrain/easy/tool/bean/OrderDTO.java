@@ -0,0 +1,17 @@
+package cn.augrain.easy.tool.bean;
+
+import lombok.Data;
+
+/**
+ * @author biaoy
+ * @since 2025/07/18
+ */
+@Data
+public class OrderDTO {
+
+    private Long id;
+
+    private String code;
+
+    private UserDTO user;
+}
@@ -0,0 +1,23 @@
+package cn.augrain.easy.tool.bean;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * @author biaoy
+ * @since 2025/07/05
+ */
+@Getter
+@Setter
+public class User {
+
+    private long id;
+
+    private Integer age;
+
+    private double score;
+
+    private String name;
+
+    private String remark;
+}
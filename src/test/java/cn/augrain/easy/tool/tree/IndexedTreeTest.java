@@ -0,0 +1,75 @@
+package cn.augrain.easy.tool.tree;
+
+import cn.augrain.easy.tool.bean.BeanUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * @author biaoy
+ * @since 2025/08/01
+ */
+public class IndexedTreeTest {
+
+    static List<MenuVO> buildTree() {
+        List<Menu> menus = new ArrayList<>();
+        menus.add(new Menu(1, 0, "订单管理"));
+        menus.add(new Menu(2, 1, "共享订单"));
+        menus.add(new Menu(3, 1, "充电订单"));
+        menus.add(new Menu(4, 1, "洗车订单"));
+        menus.add(new Menu(5, 0, "设备管理"));
+        menus.add(new Menu(6, 5, "自助设备"));
+        menus.add(new Menu(7, 6, "打印机"));
+        menus.add(new Menu(8, 6, "售货机"));
+        menus.add(new Menu(9, 5, "家用电器"));
+        menus.add(new Menu(10, 9, "电视机"));
+        return TreeUtils.toTree(BeanUtils.copyList(menus, MenuVO.class));
+    }
+
+    private static List<Integer> ids(List<MenuVO> nodes) {
+        return nodes.stream().map(MenuVO::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testIndexedTree() {
+        IndexedTree<Integer, MenuVO> tree = IndexedTree.of(buildTree());
+        Assert.assertEquals(10, tree.size());
+        System.out.println(ids(tree.nodes()));
+
+        Assert.assertTrue(tree.isAncestor(5, 7));
+        Assert.assertFalse(tree.isAncestor(7, 5));
+        Assert.assertFalse(tree.isAncestor(1, 7));
+        Assert.assertFalse(tree.isAncestor(6, 6));
+        Assert.assertTrue(tree.isInSubtree(6, 6));
+        Assert.assertFalse(tree.isInSubtree(99, 1));
+
+        Assert.assertEquals("[6, 7, 8, 9, 10]", ids(tree.descendants(5)).toString());
+        Assert.assertEquals("[1, 2, 3, 4]", ids(tree.subtree(1)).toString());
+        Assert.assertEquals(4, tree.subtreeSize(1));
+        Assert.assertEquals("[10, 9, 5]", ids(tree.pathToRoot(10)).toString());
+        Assert.assertEquals(2, tree.getDepth(10));
+        Assert.assertEquals(9, tree.getParent(10).getId().intValue());
+        Assert.assertNull(tree.getParent(5));
+        Assert.assertEquals(5, tree.lowestCommonAncestor(8, 10).getId().intValue());
+        Assert.assertNull(tree.lowestCommonAncestor(2, 10));
+    }
+
+    @Test
+    public void testDeepTree() {
+        // 链状深树，不会栈溢出
+        List<MenuVO> nodes = new ArrayList<>();
+        for (int i = 1; i <= 100000; i++) {
+            MenuVO menu = new MenuVO();
+            menu.setId(i);
+            menu.setPid(i - 1);
+            nodes.add(menu);
+        }
+        IndexedTree<Integer, MenuVO> tree = IndexedTree.of(TreeUtils.toTree(nodes));
+        Assert.assertEquals(99999, tree.getDepth(100000));
+        Assert.assertTrue(tree.isAncestor(1, 100000));
+        Assert.assertEquals(99999, tree.descendants(1).size());
+    }
+}
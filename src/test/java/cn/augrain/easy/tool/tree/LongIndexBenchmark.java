@@ -0,0 +1,38 @@
+package cn.augrain.easy.tool.tree;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HashMap索引与 {@link LongIndex} 建树耗时对比，手动运行，不参与单元测试
+ *
+ * @author biaoy
+ * @since 2025/08/05
+ */
+public class LongIndexBenchmark {
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        for (int round = 0; round < 5; round++) {
+            List<MenuVO> boxed = nodes(size);
+            List<MenuVO> primitive = nodes(size);
+
+            long start = System.nanoTime();
+            TreeUtils.buildTree(boxed, node -> node.getPid() == 0, TreeBuilder.NO_PARALLEL);
+            long boxedTime = System.nanoTime() - start;
+            start = System.nanoTime();
+            TreeUtils.buildTree(primitive, MenuVO::getId, MenuVO::getPid, node -> node.getPid() == 0,
+                    TreeBuilder.NO_PARALLEL);
+            long primitiveTime = System.nanoTime() - start;
+            System.out.println("HashMap: " + boxedTime / 1000000 + "ms, LongIndex: " + primitiveTime / 1000000 + "ms");
+        }
+    }
+
+    private static List<MenuVO> nodes(int size) {
+        List<MenuVO> nodes = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            nodes.add(MenuVO.of(i, i / 16));
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,152 @@
+package cn.augrain.easy.tool.tree;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * @author biaoy
+ * @since 2025/08/05
+ */
+public class LongIndexTest {
+
+    @Test
+    public void testIndex() {
+        int size = 100000;
+        LongIndex index = new LongIndex(size);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < size; i++) {
+            long key = i % 3 == 0 ? i : random.nextLong();
+            Integer previous = expected.putIfAbsent(key, i);
+            Assert.assertEquals(previous == null ? LongIndex.NONE : previous.intValue(), index.putIfAbsent(key, i));
+        }
+        for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            Assert.assertEquals(entry.getValue().intValue(), index.get(entry.getKey()));
+        }
+        Assert.assertEquals(LongIndex.NONE, index.get(-1L));
+        Assert.assertEquals(LongIndex.NONE, new LongIndex(0).get(0L));
+    }
+
+    @Test
+    public void testCollision() {
+        // 容量为8，找出落在最后一个槽的键，探测时需要回绕到表头
+        LongIndex index = new LongIndex(4);
+        int mask = 7;
+        List<Long> keys = new ArrayList<>();
+        for (long key = 1; keys.size() < 3; key++) {
+            if ((LongIndex.hash(key) & mask) == mask) {
+                keys.add(key);
+            }
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            Assert.assertEquals(LongIndex.NONE, index.putIfAbsent(keys.get(i), i));
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            Assert.assertEquals(i, index.get(keys.get(i)));
+        }
+        Assert.assertEquals(LongIndex.NONE, index.get(keys.get(2) + 1));
+    }
+
+    @Test
+    public void testZeroAndNegativeKeys() {
+        LongIndex index = new LongIndex(8);
+        // 空槽的键默认为0，不能被当作已存在的键0
+        Assert.assertEquals(LongIndex.NONE, index.get(0L));
+        Assert.assertEquals(LongIndex.NONE, index.putIfAbsent(0L, 0));
+        Assert.assertEquals(LongIndex.NONE, index.putIfAbsent(-1L, 1));
+        Assert.assertEquals(LongIndex.NONE, index.putIfAbsent(Long.MIN_VALUE, 2));
+        Assert.assertEquals(LongIndex.NONE, index.putIfAbsent(Long.MAX_VALUE, 3));
+        Assert.assertEquals(0, index.get(0L));
+        Assert.assertEquals(1, index.get(-1L));
+        Assert.assertEquals(2, index.get(Long.MIN_VALUE));
+        Assert.assertEquals(3, index.get(Long.MAX_VALUE));
+        Assert.assertEquals(LongIndex.NONE, index.get(-2L));
+    }
+
+    @Test
+    public void testDuplicatePut() {
+        LongIndex index = new LongIndex(4);
+        Assert.assertEquals(LongIndex.NONE, index.putIfAbsent(42L, 1));
+        Assert.assertEquals(1, index.putIfAbsent(42L, 2));
+        Assert.assertEquals(1, index.putIfAbsent(42L, 3));
+        Assert.assertEquals(1, index.get(42L));
+    }
+
+    @Test
+    public void testCapacity() {
+        Assert.assertEquals(4, LongIndex.capacity(0));
+        Assert.assertEquals(4, LongIndex.capacity(2));
+        Assert.assertEquals(8, LongIndex.capacity(3));
+        Assert.assertEquals(1 << 30, LongIndex.capacity(1 << 29));
+        // 超过2^29时不再溢出为负数，固定为最大容量
+        Assert.assertEquals(1 << 30, LongIndex.capacity((1 << 29) + 1));
+        Assert.assertEquals(1 << 30, LongIndex.capacity((1 << 30) - 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCapacityTooLarge() {
+        LongIndex.capacity(1 << 30);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCapacityMaxInt() {
+        new LongIndex(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testBuildTree() {
+        List<MenuVO> boxed = new ArrayList<>();
+        List<MenuVO> primitive = new ArrayList<>();
+        for (int i = 1; i <= 1000; i++) {
+            boxed.add(MenuVO.of(i, i / 16));
+            primitive.add(MenuVO.of(i, i / 16));
+        }
+        TreeBuildResult<MenuVO> expected = TreeUtils.buildTree(boxed, node -> node.getPid() == 0, TreeBuilder.NO_PARALLEL);
+        TreeBuildResult<MenuVO> actual = TreeUtils.buildTree(primitive, MenuVO::getId, MenuVO::getPid,
+                node -> node.getPid() == 0, TreeBuilder.NO_PARALLEL);
+        Assert.assertEquals(expected.getRoots().size(), actual.getRoots().size());
+        Assert.assertFalse(actual.hasOrphans());
+        for (int i = 0; i < boxed.size(); i++) {
+            List<MenuVO> e = boxed.get(i).getChild();
+            List<MenuVO> a = primitive.get(i).getChild();
+            Assert.assertEquals(e == null ? 0 : e.size(), a == null ? 0 : a.size());
+        }
+
+        List<MenuVO> parallel = new ArrayList<>();
+        for (int i = 1; i <= 1000; i++) {
+            parallel.add(MenuVO.of(i, i / 16));
+        }
+        parallel.add(MenuVO.of(1, 0));
+        TreeBuildResult<MenuVO> result = TreeUtils.buildTree(parallel, MenuVO::getId, MenuVO::getPid,
+                node -> node.getPid() == 0, 1);
+        Assert.assertEquals(1, result.getDuplicates().size());
+        Assert.assertEquals(16, result.getRoots().size());
+    }
+
+    @Test
+    public void testSelfParent() {
+        List<MenuVO> boxed = new ArrayList<>();
+        boxed.add(MenuVO.of(1, 1));
+        boxed.add(MenuVO.of(2, 1));
+        List<MenuVO> primitive = new ArrayList<>();
+        primitive.add(MenuVO.of(1, 1));
+        primitive.add(MenuVO.of(2, 1));
+
+        TreeBuildResult<MenuVO> expected = TreeUtils.buildTree(boxed, node -> node.getPid() == 0, TreeBuilder.NO_PARALLEL);
+        TreeBuildResult<MenuVO> actual = TreeUtils.buildTree(primitive, MenuVO::getId, MenuVO::getPid,
+                node -> node.getPid() == 0, TreeBuilder.NO_PARALLEL);
+        for (TreeBuildResult<MenuVO> result : Arrays.asList(expected, actual)) {
+            Assert.assertEquals(1, result.getRoots().size());
+            Assert.assertEquals(1, result.getOrphans().size());
+            Assert.assertEquals(1, result.getRoots().get(0).getChild().size());
+            Assert.assertEquals(2, result.getRoots().get(0).getChild().get(0).getId().intValue());
+        }
+    }
+}
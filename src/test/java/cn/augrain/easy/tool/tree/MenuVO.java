@@ -24,6 +24,13 @@ public class MenuVO implements TreeNode<Integer> {
     @JsonIgnore
     private List<MenuVO> child;
 
+    public static MenuVO of(Integer id, Integer pid) {
+        MenuVO menu = new MenuVO();
+        menu.id = id;
+        menu.pid = pid;
+        return menu;
+    }
+
     @Override
     public Integer id() {
         return id;
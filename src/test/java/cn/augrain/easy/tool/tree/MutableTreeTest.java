@@ -0,0 +1,133 @@
+package cn.augrain.easy.tool.tree;
+
+import cn.augrain.easy.tool.exception.UtilsRuntimeException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * @author biaoy
+ * @since 2025/08/04
+ */
+public class MutableTreeTest {
+
+    private static List<Integer> ids(List<MenuVO> nodes) {
+        return nodes.stream().map(MenuVO::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testModify() {
+        MutableTree<Integer, MenuVO> tree = MutableTree.of(IndexedTreeTest.buildTree());
+        Assert.assertEquals(10, tree.size());
+
+        tree.insert(MenuVO.of(11, 6));
+        tree.insert(MenuVO.of(12, 0), null);
+        Assert.assertEquals(Arrays.asList(7, 8, 11), ids(tree.getChildren(6)));
+
+        tree.move(6, 1);
+        Assert.assertEquals(1, tree.getParent(6).getId().intValue());
+        Assert.assertEquals(Arrays.asList(2, 3, 4, 6), ids(tree.getChildren(1)));
+
+        Assert.assertEquals(4, tree.delete(6));
+        Assert.assertFalse(tree.contains(11));
+        Assert.assertEquals(8, tree.size());
+        Assert.assertEquals(Arrays.asList(1, 5, 12), ids(tree.getRoots()));
+    }
+
+    @Test(expected = UtilsRuntimeException.class)
+    public void testCycle() {
+        MutableTree<Integer, MenuVO> tree = MutableTree.of(IndexedTreeTest.buildTree());
+        tree.move(5, 10);
+    }
+
+    @Test
+    public void testSnapshot() {
+        MutableTree<Integer, MenuVO> tree = MutableTree.of(IndexedTreeTest.buildTree());
+        TreeSnapshot<Integer, MenuVO> before = tree.snapshot();
+        Assert.assertSame(before, tree.snapshot());
+        Assert.assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), ids(before.indexed().nodes()));
+
+        tree.move(9, 2);
+        TreeSnapshot<Integer, MenuVO> after = tree.snapshot();
+        Assert.assertNotSame(before, after);
+        Assert.assertTrue(before.isAncestor(5, 10));
+        Assert.assertTrue(after.isAncestor(2, 10));
+        Assert.assertEquals(3, after.getDepth(10));
+        Assert.assertEquals(Arrays.asList(10, 9, 2, 1), ids(after.pathToRoot(10)));
+        Assert.assertEquals(Arrays.asList(1, 2, 9, 10, 3, 4, 5, 6, 7, 8), ids(after.indexed().nodes()));
+        Assert.assertEquals(3, after.indexed().subtreeSize(2));
+        Assert.assertEquals(Arrays.asList(6), ids(after.getChildren(5)));
+        Assert.assertEquals(Arrays.asList(6, 9), ids(before.getChildren(5)));
+    }
+
+    @Test
+    public void testSnapshotSharesStructure() {
+        MutableTree<Integer, MenuVO> tree = MutableTree.of(IndexedTreeTest.buildTree());
+        TreeSnapshot<Integer, MenuVO> before = tree.snapshot();
+        tree.move(9, 2);
+        tree.insert(MenuVO.of(11, 7));
+        TreeSnapshot<Integer, MenuVO> after = tree.snapshot();
+
+        // 只有被移动、插入的节点和它们新旧父节点的记录被替换
+        for (int id : new int[]{2, 5, 7, 9}) {
+            Assert.assertNotSame(before.record(id), after.record(id));
+        }
+        for (int id : new int[]{1, 3, 4, 6, 8, 10}) {
+            Assert.assertSame(before.record(id), after.record(id));
+        }
+        Assert.assertNull(before.record(11));
+        Assert.assertEquals(11, after.size());
+
+        tree.delete(5);
+        TreeSnapshot<Integer, MenuVO> deleted = tree.snapshot();
+        Assert.assertEquals(Arrays.asList(1), ids(deleted.getRoots()));
+        Assert.assertEquals(6, deleted.size());
+        Assert.assertSame(after.record(3), deleted.record(3));
+        Assert.assertEquals(11, after.size());
+    }
+
+    @Test
+    public void testSnapshotMatchesTree() {
+        Random random = new Random(3);
+        MutableTree<Integer, MenuVO> tree = MutableTree.of(Collections.emptyList());
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 1; i <= 2000; i++) {
+            Integer parent = ids.isEmpty() || random.nextInt(10) == 0 ? null : ids.get(random.nextInt(ids.size()));
+            tree.insert(MenuVO.of(i, parent), parent);
+            ids.add(i);
+            if (i % 7 == 0) {
+                Integer id = ids.get(random.nextInt(ids.size()));
+                Integer target = ids.get(random.nextInt(ids.size()));
+                if (tree.contains(id) && tree.contains(target) && !tree.snapshot().isAncestor(id, target)
+                        && !id.equals(target)) {
+                    tree.move(id, target);
+                }
+            }
+            if (i % 50 == 0) {
+                tree.delete(ids.get(random.nextInt(ids.size())));
+                ids.removeIf(id -> !tree.contains(id));
+            }
+            if (i % 13 == 0) {
+                assertSame(tree, tree.snapshot(), ids);
+            }
+        }
+        assertSame(tree, tree.snapshot(), ids);
+    }
+
+    private static void assertSame(MutableTree<Integer, MenuVO> tree, TreeSnapshot<Integer, MenuVO> snapshot,
+                                   List<Integer> ids) {
+        Assert.assertEquals(tree.size(), snapshot.size());
+        Assert.assertEquals(ids(tree.getRoots()), ids(snapshot.getRoots()));
+        for (Integer id : ids) {
+            Assert.assertEquals(ids(tree.getChildren(id)), ids(snapshot.getChildren(id)));
+            Assert.assertSame(tree.getParent(id), snapshot.getParent(id));
+        }
+        Assert.assertEquals(tree.size(), snapshot.indexed().size());
+    }
+}
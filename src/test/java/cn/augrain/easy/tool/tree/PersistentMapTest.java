@@ -0,0 +1,64 @@
+package cn.augrain.easy.tool.tree;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * @author biaoy
+ * @since 2025/08/04
+ */
+public class PersistentMapTest {
+
+    @Test
+    public void testPutRemove() {
+        Random random = new Random(5);
+        Map<Integer, Integer> expected = new HashMap<>();
+        PersistentMap<Integer, Integer> map = PersistentMap.empty();
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(5000) - 2500;
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.remove(key);
+            } else {
+                expected.put(key, i);
+                map = map.put(key, i);
+            }
+            Assert.assertEquals(expected.size(), map.size());
+        }
+        for (int key = -2500; key < 2500; key++) {
+            Assert.assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    public void testPersistent() {
+        PersistentMap<String, Integer> first = PersistentMap.<String, Integer>empty().put("a", 1);
+        PersistentMap<String, Integer> second = first.put("a", 2).put("b", 3);
+        Assert.assertEquals(1, first.get("a").intValue());
+        Assert.assertNull(first.get("b"));
+        Assert.assertEquals(2, second.get("a").intValue());
+        Assert.assertSame(second, second.remove("c"));
+        Assert.assertEquals(0, second.remove("a").remove("b").size());
+    }
+
+    @Test
+    public void testHashCollision() {
+        // "Aa"与"BB"的hashCode相同，哈希值用完后放在冲突节点中
+        PersistentMap<String, Integer> map = PersistentMap.<String, Integer>empty()
+                .put("Aa", 1).put("BB", 2).put("AaAa", 3).put("BBBB", 4).put("AaBB", 5);
+        Assert.assertEquals(5, map.size());
+        Assert.assertEquals(1, map.get("Aa").intValue());
+        Assert.assertEquals(2, map.get("BB").intValue());
+        Assert.assertEquals(5, map.get("AaBB").intValue());
+        PersistentMap<String, Integer> removed = map.remove("Aa").remove("AaBB");
+        Assert.assertEquals(3, removed.size());
+        Assert.assertNull(removed.get("Aa"));
+        Assert.assertEquals(2, removed.get("BB").intValue());
+        Assert.assertEquals(4, removed.get("BBBB").intValue());
+        Assert.assertEquals(1, map.get("Aa").intValue());
+    }
+}
@@ -0,0 +1,158 @@
+package cn.augrain.easy.tool.tree;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+/**
+ * @author biaoy
+ * @since 2025/08/02
+ */
+public class StreamingTreeBuilderTest {
+
+    @Test
+    public void testUnordered() {
+        List<MenuVO> nodes = new ArrayList<>();
+        for (int i = 1; i <= 1000; i++) {
+            nodes.add(MenuVO.of(i, i / 3));
+        }
+        nodes.add(MenuVO.of(2000, 1999));
+        Collections.shuffle(nodes, new Random(1));
+
+        TreeBuildResult<MenuVO> result = TreeUtils.buildTree(nodes.stream(), node -> node.getPid() == 0);
+        System.out.println(result);
+        Assert.assertEquals(3, result.getRoots().size());
+        Assert.assertEquals(2000, result.getOrphans().get(0).getId().intValue());
+        Assert.assertEquals(1001, IndexedTree.of(result.getRoots()).size());
+    }
+
+    @Test
+    public void testUnorderedSameAsBuildTree() {
+        // isRoot只判断孤儿：id为10的倍数的节点即使有父节点也挂在父节点下
+        Predicate<MenuVO> isRoot = node -> node.getId() % 10 == 0;
+        TreeBuildResult<MenuVO> expected = TreeUtils.buildTree(shuffledNodes(), isRoot, TreeBuilder.NO_PARALLEL);
+        TreeBuildResult<MenuVO> actual = TreeUtils.buildTree(shuffledNodes().iterator(), isRoot);
+
+        Assert.assertEquals(ids(expected.getRoots()), ids(actual.getRoots()));
+        Assert.assertEquals(ids(expected.getOrphans()), ids(actual.getOrphans()));
+        Assert.assertEquals(ids(expected.getDuplicates()), ids(actual.getDuplicates()));
+        Assert.assertEquals(1, actual.getDuplicates().size());
+        Assert.assertEquals(shape(expected.getRoots(), new ArrayList<>()), shape(actual.getRoots(), new ArrayList<>()));
+    }
+
+    @Test
+    public void testUnorderedChildFirst() {
+        // 子节点全部先于父节点到达，根节点与孤儿交错
+        Predicate<MenuVO> isRoot = node -> node.getPid() == 0;
+        TreeBuildResult<MenuVO> expected = TreeUtils.buildTree(childFirstNodes(), isRoot, TreeBuilder.NO_PARALLEL);
+        TreeBuildResult<MenuVO> actual = TreeUtils.buildTree(childFirstNodes().iterator(), isRoot);
+
+        Assert.assertEquals(ids(expected.getRoots()), ids(actual.getRoots()));
+        Assert.assertEquals(ids(expected.getOrphans()), ids(actual.getOrphans()));
+        Assert.assertEquals(shape(expected.getRoots(), new ArrayList<>()), shape(actual.getRoots(), new ArrayList<>()));
+    }
+
+    private static List<MenuVO> childFirstNodes() {
+        List<MenuVO> nodes = new ArrayList<>();
+        for (int i = 300; i >= 1; i--) {
+            nodes.add(MenuVO.of(i, i % 17 == 0 ? 1000 + i : i / 4));
+        }
+        return nodes;
+    }
+
+    /**
+     * 先序遍历每个节点的子节点id
+     */
+    private static List<String> shape(List<MenuVO> nodes, List<String> out) {
+        if (nodes != null) {
+            for (MenuVO node : nodes) {
+                out.add(node.getId() + ":" + ids(node.getChild()));
+                shape(node.getChild(), out);
+            }
+        }
+        return out;
+    }
+
+    private static List<MenuVO> shuffledNodes() {
+        List<MenuVO> nodes = new ArrayList<>();
+        for (int i = 1; i <= 200; i++) {
+            nodes.add(MenuVO.of(i, i / 3));
+        }
+        nodes.add(MenuVO.of(500, 499));
+        nodes.add(MenuVO.of(501, 498));
+        nodes.add(MenuVO.of(20, 1));
+        Collections.shuffle(nodes, new Random(7));
+        return nodes;
+    }
+
+    private static List<Integer> ids(List<MenuVO> nodes) {
+        List<Integer> ids = new ArrayList<>();
+        if (nodes != null) {
+            nodes.forEach(node -> ids.add(node.getId()));
+        }
+        return ids;
+    }
+
+    @Test
+    public void testUnorderedSelfParent() {
+        StreamingTreeBuilder<MenuVO> builder = StreamingTreeBuilder.create(node -> node.getPid() == 0);
+        builder.accept(MenuVO.of(2, 1));
+        builder.accept(MenuVO.of(1, 1));
+        TreeBuildResult<MenuVO> result = builder.finish();
+        Assert.assertEquals(1, result.getRoots().size());
+        Assert.assertEquals(1, result.getOrphans().size());
+        Assert.assertEquals(1, result.getRoots().get(0).getChild().size());
+    }
+
+    @Test
+    public void testPreOrdered() {
+        // 1 -> (2 -> (3, 4), 5), 6 -> 7
+        List<MenuVO> nodes = new ArrayList<>();
+        nodes.add(MenuVO.of(1, 0));
+        nodes.add(MenuVO.of(2, 1));
+        nodes.add(MenuVO.of(3, 2));
+        nodes.add(MenuVO.of(4, 2));
+        nodes.add(MenuVO.of(5, 1));
+        nodes.add(MenuVO.of(6, 0));
+        nodes.add(MenuVO.of(7, 6));
+        nodes.add(MenuVO.of(8, 99));
+
+        TreeBuildResult<MenuVO> result = TreeUtils.buildPreOrderedTree(nodes.iterator(), node -> node.getPid() == 0);
+        Assert.assertEquals(3, result.getRoots().size());
+        Assert.assertEquals(1, result.getOrphans().size());
+        MenuVO root = result.getRoots().get(0);
+        Assert.assertEquals(2, root.getChild().size());
+        Assert.assertEquals(2, root.getChild().get(0).getChild().size());
+        Assert.assertEquals(7, result.getRoots().get(1).getChild().get(0).getId().intValue());
+    }
+
+    @Test
+    public void testPreOrderedOnlySearchesAncestors() {
+        List<MenuVO> nodes = new ArrayList<>();
+        nodes.add(MenuVO.of(1, 0));
+        nodes.add(MenuVO.of(2, 1));
+        nodes.add(MenuVO.of(3, 0));
+        // 父节点不在祖先栈中，作为根节点；重复id不检测
+        nodes.add(MenuVO.of(4, 2));
+        nodes.add(MenuVO.of(3, 0));
+
+        TreeBuildResult<MenuVO> result = TreeUtils.buildPreOrderedTree(nodes.iterator(), node -> node.getPid() == 0);
+        Assert.assertEquals(Arrays.asList(1, 3, 4, 3), ids(result.getRoots()));
+        Assert.assertEquals(Collections.singletonList(4), ids(result.getOrphans()));
+        Assert.assertTrue(result.getDuplicates().isEmpty());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFinished() {
+        StreamingTreeBuilder<MenuVO> builder = StreamingTreeBuilder.create(node -> node.getPid() == 0);
+        builder.accept(MenuVO.of(1, 0));
+        builder.finish();
+        builder.accept(MenuVO.of(2, 1));
+    }
+}
@@ -0,0 +1,80 @@
+package cn.augrain.easy.tool.tree;
+
+import cn.augrain.easy.tool.numeric.BigDecimalUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * @author biaoy
+ * @since 2025/08/06
+ */
+public class TreeAggregatorTest {
+
+    @Test
+    public void testAggregate() {
+        List<MenuVO> roots = IndexedTreeTest.buildTree();
+        IndexedTree<Integer, MenuVO> indexed = IndexedTree.of(roots);
+
+        Map<MenuVO, Integer> counts = TreeUtils.aggregate(roots, node -> 1, Integer::sum);
+        for (MenuVO node : indexed.nodes()) {
+            Assert.assertEquals(indexed.subtreeSize(node.getId()), counts.get(node).intValue());
+        }
+
+        Map<MenuVO, BigDecimal> amounts = TreeUtils.aggregate(roots, node -> BigDecimal.valueOf(node.getId()),
+                (a, b) -> BigDecimalUtils.add(a, b));
+        // 5 + 6 + 7 + 8 + 9 + 10
+        Assert.assertEquals(0, BigDecimal.valueOf(45).compareTo(amounts.get(indexed.get(5))));
+
+        Map<MenuVO, String> paths = TreeUtils.aggregate(roots, node -> String.valueOf(node.getId()), (a, b) -> a + b);
+        Assert.assertEquals("12347", paths.get(indexed.get(1)) + paths.get(indexed.get(7)));
+        Assert.assertEquals("5678910", paths.get(indexed.get(5)));
+    }
+
+    @Test
+    public void testParallel() throws Exception {
+        int size = 200000;
+        List<MenuVO> nodes = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            nodes.add(MenuVO.of(i, i / 64));
+        }
+        List<MenuVO> roots = TreeUtils.toTree(nodes);
+        Map<MenuVO, Long> expected = TreeUtils.aggregate(roots, node -> (long) node.getId(), Long::sum);
+        // 专用的池保证单核环境下也走并行分支
+        ForkJoinPool pool = new ForkJoinPool(4);
+        Map<MenuVO, Long> actual;
+        try {
+            actual = pool.submit(() -> TreeUtils.aggregate(roots, node -> (long) node.getId(), Long::sum, 1)).get();
+        } finally {
+            pool.shutdown();
+        }
+        Assert.assertEquals(size, actual.size());
+        for (MenuVO node : nodes) {
+            Assert.assertEquals(expected.get(node), actual.get(node));
+        }
+        long total = 0;
+        for (MenuVO root : roots) {
+            total += actual.get(root);
+        }
+        Assert.assertEquals((long) size * (size + 1) / 2, total);
+    }
+
+    @Test
+    public void testDeep() {
+        int size = 100000;
+        List<MenuVO> nodes = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            nodes.add(MenuVO.of(i, i - 1));
+        }
+        List<MenuVO> roots = TreeUtils.toTree(nodes);
+        Map<MenuVO, Integer> depths = TreeUtils.aggregate(roots, node -> 1, Math::max, 1);
+        Assert.assertEquals(1, depths.get(roots.get(0)).intValue());
+        Map<MenuVO, Integer> counts = TreeUtils.aggregate(roots, node -> 1, Integer::sum, 1);
+        Assert.assertEquals(size, counts.get(roots.get(0)).intValue());
+    }
+}
@@ -2,11 +2,15 @@ package cn.augrain.easy.tool.tree;
 
 import cn.augrain.easy.tool.bean.BeanUtils;
 import cn.augrain.easy.tool.collection.MapUtils;
+import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 public class TreeUtilsTest {
@@ -35,6 +39,47 @@ public class TreeUtilsTest {
         TreeUtils.print(tree);
     }
 
+    @Test
+    public void testTreeFieldSemantics() {
+        List<Area> areas = new ArrayList<>();
+        areas.add(new Area(1L, null));
+        areas.add(new Area(2L, 1L));
+        areas.add(new Area(3L, 1L));
+        List<Area> tree = TreeUtils.toTree(areas, "id", "parentId", "children");
+        Assert.assertEquals(1, tree.size());
+        Assert.assertEquals(2, tree.get(0).getChildren().size());
+    }
+
+    /**
+     * getter返回不可修改的副本，建树仍然直接读写字段
+     */
+    private static class Area {
+        private final Long id;
+        private final Long parentId;
+        private List<Area> children = new ArrayList<>();
+
+        Area(Long id, Long parentId) {
+            this.id = id;
+            this.parentId = parentId;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public Long getParentId() {
+            return parentId;
+        }
+
+        public List<Area> getChildren() {
+            return Collections.unmodifiableList(new ArrayList<>(children));
+        }
+
+        public void setChildren(List<Area> children) {
+            this.children = new ArrayList<>(children);
+        }
+    }
+
     @Test
     public void testTreeObject2() {
         List<Menu> menus = buildMenu();
@@ -44,6 +89,133 @@ public class TreeUtilsTest {
         TreeUtils.print(tree);
     }
 
+    @Test
+    public void testTreeFieldOnly() {
+        List<Dept> depts = new ArrayList<>();
+        depts.add(new Dept(1L, null));
+        depts.add(new Dept(2L, 1L));
+        depts.add(new Dept(3L, 2L));
+        depts.add(new Dept(4L, 1L));
+        List<Dept> tree = TreeUtils.toTree(depts, "id", "parentId", "subs");
+        Assert.assertEquals(1, tree.size());
+        Assert.assertEquals(2, tree.get(0).subs.size());
+        Assert.assertEquals(3L, tree.get(0).subs.get(0).subs.get(0).id.longValue());
+    }
+
+    /**
+     * 没有getter/setter，通过字段访问
+     */
+    private static class Dept {
+        private final Long id;
+        private final Long parentId;
+        private List<Dept> subs;
+
+        Dept(Long id, Long parentId) {
+            this.id = id;
+            this.parentId = parentId;
+        }
+    }
+
+    @Test
+    public void testBuildTree() {
+        List<MenuVO> menuVOS = BeanUtils.copyList(buildMenu(), MenuVO.class);
+        MenuVO orphan = new MenuVO();
+        orphan.setId(11);
+        orphan.setPid(99);
+        menuVOS.add(orphan);
+        MenuVO duplicate = new MenuVO();
+        duplicate.setId(2);
+        duplicate.setPid(1);
+        menuVOS.add(duplicate);
+
+        TreeBuildResult<MenuVO> result = TreeUtils.buildTree(menuVOS, node -> node.getPid() == 0, TreeBuilder.NO_PARALLEL);
+        System.out.println(result);
+        Assert.assertEquals(3, result.getRoots().size());
+        Assert.assertEquals(11, result.getOrphans().get(0).getId().intValue());
+        Assert.assertSame(duplicate, result.getDuplicates().get(0));
+        Assert.assertEquals(4, result.getRoots().get(0).getChild().size());
+    }
+
+    @Test
+    public void testBuildTreeParallel() throws Exception {
+        int size = 200000;
+        List<MenuVO> sequential = new ArrayList<>(size);
+        List<MenuVO> parallel = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            sequential.add(MenuVO.of(i, i / 8));
+            parallel.add(MenuVO.of(i, i / 8));
+        }
+        TreeBuildResult<MenuVO> expected = TreeUtils.buildTree(sequential, node -> node.getPid() == 0, TreeBuilder.NO_PARALLEL);
+        // 专用的池保证单核环境下也走并行分支
+        ForkJoinPool pool = new ForkJoinPool(4);
+        TreeBuildResult<MenuVO> actual;
+        try {
+            actual = pool.submit(() -> {
+                Assert.assertEquals(4, TreeBuilder.parallelism());
+                return TreeUtils.buildTree(parallel, node -> node.getPid() == 0, 1);
+            }).get();
+        } finally {
+            pool.shutdown();
+        }
+        Assert.assertEquals(expected.getRoots().size(), actual.getRoots().size());
+        for (int i = 0; i < size; i++) {
+            List<MenuVO> e = sequential.get(i).getChild();
+            List<MenuVO> a = parallel.get(i).getChild();
+            Assert.assertEquals(e == null ? 0 : e.size(), a == null ? 0 : a.size());
+            if (e != null) {
+                for (int j = 0; j < e.size(); j++) {
+                    Assert.assertEquals(e.get(j).getId(), a.get(j).getId());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTraverse() {
+        List<MenuVO> tree = TreeUtils.toTree(BeanUtils.copyList(buildMenu(), MenuVO.class));
+        List<Integer> dfs = TreeUtils.flatten(tree).stream().map(MenuVO::getId).collect(Collectors.toList());
+        Assert.assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), dfs);
+        List<Integer> bfs = TreeUtils.<MenuVO>breadthFirstStream(tree).map(MenuVO::getId).collect(Collectors.toList());
+        Assert.assertEquals(Arrays.asList(1, 5, 2, 3, 4, 6, 9, 7, 8, 10), bfs);
+        Assert.assertEquals(9, TreeUtils.<MenuVO>stream(tree).filter(m -> m.getId() == 9).findFirst().get().getId().intValue());
+    }
+
+    @Test
+    public void testFilterAndPrune() {
+        List<MenuVO> tree = TreeUtils.toTree(BeanUtils.copyList(buildMenu(), MenuVO.class));
+        List<MenuVO> filtered = TreeUtils.filter(tree, m -> m.getName().endsWith("机"));
+        TreeUtils.print(filtered);
+        Assert.assertEquals(1, filtered.size());
+        Assert.assertEquals(Arrays.asList(5, 6, 7, 8, 9, 10),
+                TreeUtils.flatten(filtered).stream().map(MenuVO::getId).collect(Collectors.toList()));
+
+        List<MenuVO> pruned = TreeUtils.prune(filtered, m -> m.getId() == 6);
+        Assert.assertEquals(Arrays.asList(5, 9, 10),
+                TreeUtils.flatten(pruned).stream().map(MenuVO::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testFilterMap() {
+        List<Map<String, Object>> tree = TreeUtils.toTree(buildTreeMap(), "id", "pid");
+        List<Map<String, Object>> filtered = TreeUtils.filterMap(tree, m -> Integer.valueOf(2).equals(m.get("id")));
+        TreeUtils.printMap(filtered);
+        Assert.assertEquals(2, TreeUtils.flattenMap(filtered).size());
+        Assert.assertTrue(TreeUtils.pruneMap(filtered, m -> Integer.valueOf(3).equals(m.get("id"))).isEmpty());
+    }
+
+    @Test
+    public void testDeepTraverse() {
+        int size = 100000;
+        List<MenuVO> nodes = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            nodes.add(MenuVO.of(i, i - 1));
+        }
+        List<MenuVO> tree = TreeUtils.toTree(nodes);
+        Assert.assertEquals(size, TreeUtils.flatten(tree).size());
+        Assert.assertEquals(size, TreeUtils.flatten(TreeUtils.filter(tree, m -> m.getId() == size)).size());
+        Assert.assertEquals(size / 2, TreeUtils.flatten(TreeUtils.prune(tree, m -> m.getId() == size / 2 + 1)).size());
+    }
+
     private List<Menu> buildMenu() {
         List<Menu> menus = new ArrayList<>();
         menus.add(new Menu(1, 0, "订单管理"));